@@ -1,6 +1,6 @@
 package humanize.emoji;
 
-import static humanize.text.util.InterpolationHelper.interpolate;
+import static humanize.text.util.InterpolationHelper.interpolateLiteral;
 import humanize.spi.MessageFormat;
 import humanize.text.util.Replacer;
 import humanize.text.util.UnicodeInterpolator;
@@ -46,7 +46,7 @@ public final class EmojiInterpolator
 
     public static String interpolateAlias(String pattern, String text)
     {
-        return interpolate(text, EmojiInterpolator.EMOJI_ALIAS, new EmojiAliasReplacer(pattern));
+        return interpolateLiteral(text, EmojiInterpolator.EMOJI_ALIAS, new EmojiAliasReplacer(pattern));
     }
 
     public static String interpolateUnicode(String pattern, String text)
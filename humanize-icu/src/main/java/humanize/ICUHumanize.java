@@ -1305,7 +1305,7 @@ public final class ICUHumanize
     /**
      * <p>
      * Same as {@link #naturalTime(Date, Date) naturalTime} with current date as
-     * reference.
+     * reference. The current date is read from {@link Humanize#clock()}.
      * </p>
      * 
      * @param duration
@@ -1314,7 +1314,8 @@ public final class ICUHumanize
      */
     public static String naturalTime(final Date duration)
     {
-        return context.get().getDurationFormat().formatDurationFromNowTo(duration);
+        long now = Humanize.clock().millis();
+        return context.get().getDurationFormat().formatDurationFrom(duration.getTime() - now, now);
     }
 
     /**
@@ -1375,7 +1376,7 @@ public final class ICUHumanize
      */
     public static String naturalTime(final Date duration, final Locale locale)
     {
-        return naturalTime(new Date(), duration, locale);
+        return naturalTime(new Date(Humanize.clock().millis()), duration, locale);
     }
 
     /**
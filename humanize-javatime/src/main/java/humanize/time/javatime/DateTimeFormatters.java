@@ -0,0 +1,161 @@
+package humanize.time.javatime;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * <p>
+ * Cache of {@link DateTimeFormatter} instances per pattern and locale.
+ * Formatters are immutable and thread-safe, so a single instance is shared by
+ * all the threads instead of keeping a copy per thread.
+ * </p>
+ * 
+ * <p>
+ * A pattern is either the name of a predefined format, e.g.
+ * {@value FormatNames#MEDIUM_DATE} or {@value FormatNames#ISO_INSTANT}, or a
+ * {@link DateTimeFormatter#ofPattern(String, Locale) letter pattern} like
+ * 'yyyy-MM-dd'.
+ * </p>
+ * 
+ */
+public final class DateTimeFormatters implements FormatNames
+{
+
+    private static final int MAX_SIZE = 512;
+
+    private static final Map<String, DateTimeFormatter> NAMED = named();
+
+    private static final Cache<Key, DateTimeFormatter> CACHE = CacheBuilder.newBuilder().maximumSize(MAX_SIZE)
+            .build();
+
+    /**
+     * Gets the formatter for the given pattern and locale.
+     * 
+     * @param pattern
+     *            The name of a predefined format or a letter pattern
+     * @param locale
+     *            Target locale
+     * @return a shared formatter
+     * @throws IllegalArgumentException
+     *             if the pattern is not valid
+     */
+    public static DateTimeFormatter get(String pattern, Locale locale)
+    {
+
+        Preconditions.checkNotNull(pattern, "Pattern must not be null.");
+        Preconditions.checkNotNull(locale, "Locale must not be null.");
+
+        Key key = new Key(pattern, locale);
+        DateTimeFormatter formatter = CACHE.getIfPresent(key);
+
+        if (formatter == null)
+        {
+            formatter = create(pattern, locale);
+            CACHE.put(key, formatter);
+        }
+
+        return formatter;
+
+    }
+
+    private static DateTimeFormatter create(String pattern, Locale locale)
+    {
+
+        DateTimeFormatter named = NAMED.get(pattern);
+
+        return (named == null) ? DateTimeFormatter.ofPattern(pattern, locale) : named.withLocale(locale);
+
+    }
+
+    private static Map<String, DateTimeFormatter> named()
+    {
+
+        Map<String, DateTimeFormatter> named = new HashMap<String, DateTimeFormatter>();
+
+        DateTimeFormatter shortDate = DateTimeFormatter.ofLocalizedDate(FormatStyle.SHORT);
+        named.put(DEFAULT, shortDate);
+        named.put(SHORT_DATE, shortDate);
+        named.put(SHORT_TIME, DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT));
+        named.put(SHORT_DATE_TIME, DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT));
+        named.put(MEDIUM_DATE, DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM));
+        named.put(MEDIUM_TIME, DateTimeFormatter.ofLocalizedTime(FormatStyle.MEDIUM));
+        named.put(MEDIUM_DATE_TIME, DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM));
+        named.put(LONG_DATE, DateTimeFormatter.ofLocalizedDate(FormatStyle.LONG));
+        named.put(LONG_TIME, DateTimeFormatter.ofLocalizedTime(FormatStyle.LONG));
+        named.put(LONG_DATE_TIME, DateTimeFormatter.ofLocalizedDateTime(FormatStyle.LONG));
+        named.put(FULL_DATE, DateTimeFormatter.ofLocalizedDate(FormatStyle.FULL));
+        named.put(FULL_TIME, DateTimeFormatter.ofLocalizedTime(FormatStyle.FULL));
+        named.put(FULL_DATE_TIME, DateTimeFormatter.ofLocalizedDateTime(FormatStyle.FULL));
+
+        named.put(ISO_BASIC_DATE, DateTimeFormatter.BASIC_ISO_DATE);
+        named.put(ISO_DATE, DateTimeFormatter.ISO_DATE);
+        named.put(ISO_DATE_TIME, DateTimeFormatter.ISO_DATE_TIME);
+        named.put(ISO_INSTANT, DateTimeFormatter.ISO_INSTANT);
+        named.put(ISO_LOCAL_DATE, DateTimeFormatter.ISO_LOCAL_DATE);
+        named.put(ISO_LOCAL_DATE_TIME, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        named.put(ISO_LOCAL_TIME, DateTimeFormatter.ISO_LOCAL_TIME);
+        named.put(ISO_OFFSET_DATE_TIME, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        named.put(ISO_ORDINAL_DATE, DateTimeFormatter.ISO_ORDINAL_DATE);
+        named.put(ISO_TIME, DateTimeFormatter.ISO_TIME);
+        named.put(ISO_WEEK_DATE, DateTimeFormatter.ISO_WEEK_DATE);
+        named.put(ISO_ZONED_DATE_TIME, DateTimeFormatter.ISO_ZONED_DATE_TIME);
+        named.put(RFC_1123_DATE_TIME, DateTimeFormatter.RFC_1123_DATE_TIME);
+
+        return named;
+
+    }
+
+    private DateTimeFormatters()
+    {
+
+    }
+
+    /** Cache key of a pattern and a locale */
+    private static final class Key
+    {
+
+        final String pattern;
+
+        final Locale locale;
+
+        Key(String pattern, Locale locale)
+        {
+
+            this.pattern = pattern;
+            this.locale = locale;
+
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+
+            if (!(obj instanceof Key))
+            {
+                return false;
+            }
+
+            Key other = (Key) obj;
+            return pattern.equals(other.pattern) && locale.equals(other.locale);
+
+        }
+
+        @Override
+        public int hashCode()
+        {
+
+            return Objects.hashCode(pattern, locale);
+
+        }
+
+    }
+
+}
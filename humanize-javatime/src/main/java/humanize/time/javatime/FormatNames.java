@@ -0,0 +1,45 @@
+package humanize.time.javatime;
+
+/**
+ * java.time format and variant name constants.
+ * 
+ */
+public interface FormatNames
+{
+
+    static final String FULL_DATE_TIME = "full.date.time";
+    static final String FULL_TIME = "full.time";
+    static final String FULL_DATE = "full.date";
+    static final String LONG_DATE_TIME = "long.date.time";
+    static final String LONG_TIME = "long.time";
+    static final String LONG_DATE = "long.date";
+    static final String MEDIUM_DATE_TIME = "medium.date.time";
+    static final String MEDIUM_TIME = "medium.time";
+    static final String MEDIUM_DATE = "medium.date";
+    static final String SHORT_DATE_TIME = "short.date.time";
+    static final String SHORT_TIME = "short.time";
+    static final String SHORT_DATE = "short.date";
+
+    static final String ISO_BASIC_DATE = "iso.basic.date";
+    static final String ISO_DATE = "iso.date";
+    static final String ISO_DATE_TIME = "iso.date.time";
+    static final String ISO_INSTANT = "iso.instant";
+    static final String ISO_LOCAL_DATE = "iso.local.date";
+    static final String ISO_LOCAL_DATE_TIME = "iso.local.date.time";
+    static final String ISO_LOCAL_TIME = "iso.local.time";
+    static final String ISO_OFFSET_DATE_TIME = "iso.offset.date.time";
+    static final String ISO_ORDINAL_DATE = "iso.ordinal.date";
+    static final String ISO_TIME = "iso.time";
+    static final String ISO_WEEK_DATE = "iso.week.date";
+    static final String ISO_ZONED_DATE_TIME = "iso.zoned.date.time";
+    static final String RFC_1123_DATE_TIME = "rfc.1123.date.time";
+
+    static final String DURATION_STANDARD = "standard";
+    static final String DURATION_FRENCH_DECIMAL = "french.decimal";
+
+    static final String FORMAT_JAVA_TIME = "java.time";
+    static final String FORMAT_JAVA_DURATION = "java.duration";
+
+    static final String DEFAULT = "default";
+
+}
@@ -0,0 +1,232 @@
+package humanize.time.javatime;
+
+import humanize.Humanize;
+import humanize.spi.FormatProvider;
+import humanize.text.FormatFactory;
+import humanize.util.Constants.TimeStyle;
+
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.ParsePosition;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.Locale;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link FormatProvider} for java.time.
+ * 
+ */
+public class JavaTimeFormatProvider implements FormatProvider
+{
+
+    /**
+     * Creates a factory for the specified format.
+     * 
+     * @return FormatFactory instance
+     */
+    public static FormatFactory factory()
+    {
+
+        return new FormatFactory()
+        {
+            @Override
+            public Format getFormat(String name, String args, Locale locale)
+            {
+                String variant = (args == null || args.length() < 1) ? FormatNames.DEFAULT : args;
+
+                if (FormatNames.FORMAT_JAVA_DURATION.equals(name))
+                {
+                    return new JavaDurationFormat(durationStyle(variant), locale);
+                }
+
+                Preconditions.checkArgument(FormatNames.FORMAT_JAVA_TIME.equals(name),
+                        "There's no format instance for [%s]", name);
+
+                return new JavaTimeFormat(variant, locale);
+            }
+        };
+
+    }
+
+    /**
+     * Converts the given object to a temporal that can be formatted with any
+     * formatter. Instants, dates and milliseconds are placed in the default
+     * time zone.
+     * 
+     * @param obj
+     *            A temporal, {@link Date} or milliseconds since the epoch
+     * @return the temporal
+     */
+    static TemporalAccessor temporal(Object obj)
+    {
+
+        if (obj instanceof Instant)
+        {
+            return ((Instant) obj).atZone(ZoneId.systemDefault());
+        }
+
+        if (obj instanceof TemporalAccessor)
+        {
+            return (TemporalAccessor) obj;
+        }
+
+        if (obj instanceof Date)
+        {
+            // java.sql.Date does not support toInstant()
+            return Instant.ofEpochMilli(((Date) obj).getTime()).atZone(ZoneId.systemDefault());
+        }
+
+        if (obj instanceof Number)
+        {
+            return Instant.ofEpochMilli(((Number) obj).longValue()).atZone(ZoneId.systemDefault());
+        }
+
+        throw new IllegalArgumentException(String.format("Class %s is not suitable for JavaTimeFormat",
+                obj.getClass()));
+
+    }
+
+    private static TimeStyle durationStyle(String variant)
+    {
+
+        if (FormatNames.DEFAULT.equals(variant) || FormatNames.DURATION_STANDARD.equals(variant))
+        {
+            return TimeStyle.STANDARD;
+        }
+
+        Preconditions.checkArgument(FormatNames.DURATION_FRENCH_DECIMAL.equals(variant),
+                "There's no signature in [%s] for the given args [%s]", FormatNames.FORMAT_JAVA_DURATION, variant);
+
+        return TimeStyle.FRENCH_DECIMAL;
+
+    }
+
+    @Override
+    public FormatFactory getFactory()
+    {
+        return factory();
+    }
+
+    @Override
+    public String getFormatName()
+    {
+        return String.format("%s|%s", FormatNames.FORMAT_JAVA_TIME, FormatNames.FORMAT_JAVA_DURATION);
+    }
+
+    /**
+     * {@link Format} for java.time {@link Duration}, as hours, minutes and
+     * seconds. Parsing is not supported.
+     * 
+     */
+    public static class JavaDurationFormat extends Format
+    {
+
+        private static final long serialVersionUID = -2264914424627003413L;
+
+        private final TimeStyle style;
+
+        private final Locale locale;
+
+        public JavaDurationFormat(TimeStyle style, Locale locale)
+        {
+            this.style = Preconditions.checkNotNull(style);
+            this.locale = Preconditions.checkNotNull(locale);
+        }
+
+        @Override
+        public StringBuffer format(Object param, StringBuffer appendTo, FieldPosition pos)
+        {
+            Number seconds;
+
+            if (param instanceof Duration)
+            {
+                seconds = JavaTimeHumanize.seconds((Duration) param);
+            } else if (param instanceof Number)
+            {
+                seconds = (Number) param;
+            } else
+            {
+                throw new IllegalArgumentException(String.format("Class %s is not suitable for JavaDurationFormat",
+                        param.getClass()));
+            }
+
+            return appendTo.append(Humanize.duration(seconds, style, locale));
+        }
+
+        @Override
+        public Object parseObject(String source, ParsePosition pos)
+        {
+            pos.setErrorIndex(pos.getIndex());
+            return null;
+        }
+
+    }
+
+    /**
+     * {@link Format} for java.time temporals, backed by a shared
+     * {@link DateTimeFormatter}.
+     * 
+     */
+    public static class JavaTimeFormat extends Format
+    {
+
+        private static final long serialVersionUID = 4360712436297512164L;
+
+        private final String pattern;
+
+        private final Locale locale;
+
+        private transient DateTimeFormatter formatter;
+
+        /**
+         * Creates a format.
+         * 
+         * @param pattern
+         *            The name of a predefined format or a letter pattern
+         * @param locale
+         *            Target locale
+         */
+        public JavaTimeFormat(String pattern, Locale locale)
+        {
+            this.pattern = pattern;
+            this.locale = locale;
+            this.formatter = DateTimeFormatters.get(pattern, locale);
+        }
+
+        @Override
+        public StringBuffer format(Object param, StringBuffer appendTo, FieldPosition pos)
+        {
+            getFormatter().formatTo(temporal(param), appendTo);
+            return appendTo;
+        }
+
+        public DateTimeFormatter getFormatter()
+        {
+            if (formatter == null)
+            {
+                formatter = DateTimeFormatters.get(pattern, locale);
+            }
+
+            return formatter;
+        }
+
+        /**
+         * Parses the text into a {@link TemporalAccessor} with the parsed
+         * fields. Use e.g. {@code LocalDate.from(result)} to get a concrete
+         * type.
+         */
+        @Override
+        public Object parseObject(String source, ParsePosition pos)
+        {
+            return getFormatter().toFormat().parseObject(source, pos);
+        }
+
+    }
+
+}
@@ -0,0 +1,335 @@
+package humanize.time.javatime;
+
+import humanize.Humanize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * <p>
+ * java.time flavour of the time related {@link Humanize} methods. Temporals
+ * are handed to the underlying formats as epoch milliseconds, so no
+ * {@link java.util.Date} is created along the way.
+ * </p>
+ * 
+ * <p>
+ * Methods relative to now read the current time from {@link Humanize#clock()}.
+ * </p>
+ * 
+ */
+public final class JavaTimeHumanize
+{
+
+    /**
+     * Formats the given duration as hours, minutes and seconds, e.g.
+     * '1:01:01'.
+     * 
+     * @param duration
+     *            The duration
+     * @return a String with the formatted time
+     * @see Humanize#duration(Number)
+     */
+    public static String duration(Duration duration)
+    {
+        return Humanize.duration(seconds(duration));
+    }
+
+    /**
+     * Same as {@link #duration(Duration)} for the specified locale.
+     * 
+     * @param duration
+     *            The duration
+     * @param locale
+     *            Target locale
+     * @return a String with the formatted time
+     */
+    public static String duration(Duration duration, Locale locale)
+    {
+        return Humanize.duration(seconds(duration), locale);
+    }
+
+    /**
+     * Formats the given temporal with a shared {@link DateTimeFormatters
+     * formatter} for the locale of the {@link Humanize#currentLocale()
+     * context}.
+     * 
+     * @param value
+     *            The temporal, instants are placed in the default time zone
+     * @param pattern
+     *            The name of a predefined format or a letter pattern
+     * @return a formatted date/time string
+     */
+    public static String formatDate(TemporalAccessor value, String pattern)
+    {
+        return formatDate(value, pattern, Humanize.currentLocale());
+    }
+
+    /**
+     * Same as {@link #formatDate(TemporalAccessor, String)} for the specified
+     * locale.
+     * 
+     * @param value
+     *            The temporal, instants are placed in the default time zone
+     * @param pattern
+     *            The name of a predefined format or a letter pattern
+     * @param locale
+     *            Target locale
+     * @return a formatted date/time string
+     */
+    public static String formatDate(TemporalAccessor value, String pattern, Locale locale)
+    {
+        return DateTimeFormatters.get(pattern, locale).format(JavaTimeFormatProvider.temporal(value));
+    }
+
+    /**
+     * Same as {@link Humanize#naturalDay(long, TimeZone)} for an instant in
+     * the given zone.
+     * 
+     * @param then
+     *            The instant
+     * @param zone
+     *            The zone of the calendar days
+     * @return String with 'today', 'tomorrow' or 'yesterday' compared to
+     *         current day. Otherwise, returns a string formatted according to a
+     *         locale sensitive DateFormat.
+     */
+    public static String naturalDay(Instant then, ZoneId zone)
+    {
+        return Humanize.naturalDay(then.toEpochMilli(), TimeZone.getTimeZone(zone));
+    }
+
+    /**
+     * Same as {@link #naturalDay(Instant, ZoneId)} for the specified locale.
+     * 
+     * @param then
+     *            The instant
+     * @param zone
+     *            The zone of the calendar days
+     * @param locale
+     *            Target locale
+     * @return String with 'today', 'tomorrow' or 'yesterday' compared to
+     *         current day. Otherwise, returns a string formatted according to a
+     *         locale sensitive DateFormat.
+     */
+    public static String naturalDay(Instant then, ZoneId zone, Locale locale)
+    {
+        return Humanize.naturalDay(then.toEpochMilli(), TimeZone.getTimeZone(zone), locale);
+    }
+
+    /**
+     * Same as {@link #naturalDay(Instant, ZoneId)} for a date in the default
+     * zone.
+     * 
+     * @param then
+     *            The date
+     * @return String with 'today', 'tomorrow' or 'yesterday' compared to
+     *         current day. Otherwise, returns a string formatted according to a
+     *         locale sensitive DateFormat.
+     */
+    public static String naturalDay(LocalDate then)
+    {
+        return naturalDay(then.atStartOfDay(ZoneId.systemDefault()));
+    }
+
+    /**
+     * Same as {@link #naturalDay(LocalDate)} for the specified locale.
+     * 
+     * @param then
+     *            The date
+     * @param locale
+     *            Target locale
+     * @return String with 'today', 'tomorrow' or 'yesterday' compared to
+     *         current day. Otherwise, returns a string formatted according to a
+     *         locale sensitive DateFormat.
+     */
+    public static String naturalDay(LocalDate then, Locale locale)
+    {
+        return naturalDay(then.atStartOfDay(ZoneId.systemDefault()), locale);
+    }
+
+    /**
+     * Same as {@link #naturalDay(Instant, ZoneId)} comparing calendar days in
+     * the zone of the given date-time.
+     * 
+     * @param then
+     *            The date-time
+     * @return String with 'today', 'tomorrow' or 'yesterday' compared to
+     *         current day. Otherwise, returns a string formatted according to a
+     *         locale sensitive DateFormat.
+     */
+    public static String naturalDay(ZonedDateTime then)
+    {
+        return naturalDay(then.toInstant(), then.getZone());
+    }
+
+    /**
+     * Same as {@link #naturalDay(ZonedDateTime)} for the specified locale.
+     * 
+     * @param then
+     *            The date-time
+     * @param locale
+     *            Target locale
+     * @return String with 'today', 'tomorrow' or 'yesterday' compared to
+     *         current day. Otherwise, returns a string formatted according to a
+     *         locale sensitive DateFormat.
+     */
+    public static String naturalDay(ZonedDateTime then, Locale locale)
+    {
+        return naturalDay(then.toInstant(), then.getZone(), locale);
+    }
+
+    /**
+     * Renders the given difference as relative time, e.g. '3 minutes ago' for
+     * a negative duration of three minutes.
+     * 
+     * @param difference
+     *            The difference from now, negative for the past
+     * @return String representing the relative date
+     * @see Humanize#relativeTimeFormatter()
+     */
+    public static String naturalTime(Duration difference)
+    {
+        return Humanize.relativeTimeFormatter().format(difference.toMillis());
+    }
+
+    /**
+     * Same as {@link #naturalTime(Duration)} for the specified locale.
+     * 
+     * @param difference
+     *            The difference from now, negative for the past
+     * @param locale
+     *            Target locale
+     * @return String representing the relative date
+     */
+    public static String naturalTime(Duration difference, Locale locale)
+    {
+        return Humanize.relativeTimeFormatter(locale).format(difference.toMillis());
+    }
+
+    /**
+     * Same as {@link #naturalTime(TemporalAccessor, TemporalAccessor)} with
+     * the current time as reference.
+     * 
+     * @param then
+     *            An instant or a date-time with an offset or zone
+     * @return String representing the relative date
+     */
+    public static String naturalTime(TemporalAccessor then)
+    {
+        return Humanize.naturalTime(Humanize.clock().millis(), epochMillis(then));
+    }
+
+    /**
+     * Same as {@link #naturalTime(TemporalAccessor)} for the specified
+     * locale.
+     * 
+     * @param then
+     *            An instant or a date-time with an offset or zone
+     * @param locale
+     *            Target locale
+     * @return String representing the relative date
+     */
+    public static String naturalTime(TemporalAccessor then, Locale locale)
+    {
+        return Humanize.naturalTime(Humanize.clock().millis(), epochMillis(then), locale);
+    }
+
+    /**
+     * Computes both past and future relative dates, e.g. 'one day ago' or '3
+     * minutes from now'.
+     * 
+     * @param reference
+     *            An instant or a date-time with an offset or zone
+     * @param then
+     *            An instant or a date-time with an offset or zone
+     * @return String representing the relative date
+     * @see Humanize#naturalTime(long, long)
+     */
+    public static String naturalTime(TemporalAccessor reference, TemporalAccessor then)
+    {
+        return Humanize.naturalTime(epochMillis(reference), epochMillis(then));
+    }
+
+    /**
+     * Same as {@link #naturalTime(TemporalAccessor, TemporalAccessor)} with a
+     * precise duration, e.g. '3 days 15 hours ago'.
+     * 
+     * @param reference
+     *            An instant or a date-time with an offset or zone
+     * @param then
+     *            An instant or a date-time with an offset or zone
+     * @param precision
+     *            The precision to retain
+     * @return String representing the relative date
+     */
+    public static String naturalTime(TemporalAccessor reference, TemporalAccessor then, Duration precision)
+    {
+        return Humanize.prettyTimeFormat().format(epochMillis(reference), epochMillis(then), precision.toMillis());
+    }
+
+    /**
+     * Same as
+     * {@link #naturalTime(TemporalAccessor, TemporalAccessor, Duration)} for
+     * the specified locale.
+     * 
+     * @param reference
+     *            An instant or a date-time with an offset or zone
+     * @param then
+     *            An instant or a date-time with an offset or zone
+     * @param precision
+     *            The precision to retain
+     * @param locale
+     *            Target locale
+     * @return String representing the relative date
+     */
+    public static String naturalTime(TemporalAccessor reference, TemporalAccessor then, Duration precision,
+            Locale locale)
+    {
+        return Humanize.prettyTimeFormat(locale).format(epochMillis(reference), epochMillis(then),
+                precision.toMillis());
+    }
+
+    /**
+     * Same as {@link #naturalTime(TemporalAccessor, TemporalAccessor)} for the
+     * specified locale.
+     * 
+     * @param reference
+     *            An instant or a date-time with an offset or zone
+     * @param then
+     *            An instant or a date-time with an offset or zone
+     * @param locale
+     *            Target locale
+     * @return String representing the relative date
+     */
+    public static String naturalTime(TemporalAccessor reference, TemporalAccessor then, Locale locale)
+    {
+        return Humanize.naturalTime(epochMillis(reference), epochMillis(then), locale);
+    }
+
+    /**
+     * Whole seconds of the given duration, truncated towards zero.
+     */
+    static Long seconds(Duration duration)
+    {
+        long seconds = duration.getSeconds();
+        return (seconds < 0 && duration.getNano() > 0) ? seconds + 1 : seconds;
+    }
+
+    private static long epochMillis(TemporalAccessor temporal)
+    {
+        return (temporal instanceof Instant) ? ((Instant) temporal).toEpochMilli() : Instant.from(temporal)
+                .toEpochMilli();
+    }
+
+    private JavaTimeHumanize()
+    {
+
+    }
+
+}
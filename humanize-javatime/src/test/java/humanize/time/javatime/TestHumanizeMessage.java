@@ -0,0 +1,69 @@
+package humanize.time.javatime;
+
+import humanize.Humanize;
+import humanize.spi.MessageFormat;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Locale;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class TestHumanizeMessage
+{
+
+    private Locale defaultLocale;
+
+    @Test(expectedExceptions = java.lang.IllegalArgumentException.class)
+    public void invalidFormat()
+    {
+        Humanize.format("hello {0, java.whatever}!!", "badguy");
+        Assert.fail();
+    }
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void dateTime()
+    {
+        LocalDate zero = LocalDate.of(1970, 1, 1);
+
+        Assert.assertEquals(Humanize.format("hello {0, java.time}!!", zero), "hello 1/1/70!!");
+
+        MessageFormat mf = Humanize.messageFormat("hello {0, java.time, full.date}!!", Locale.FRENCH);
+        Assert.assertEquals(mf.render(zero), "hello jeudi 1 janvier 1970!!");
+
+        Assert.assertEquals(Humanize.format("hello {0, java.time, iso.ordinal.date}!!", zero), "hello 1970-001!!");
+        Assert.assertEquals(Humanize.format("hello {0, java.time, iso.week.date}!!", zero), "hello 1970-W01-4!!");
+        Assert.assertEquals(Humanize.format("hello {0, java.time, yyyy/MM/dd}!!", zero), "hello 1970/01/01!!");
+        Assert.assertEquals(
+                Humanize.format("hello {0, java.time, iso.instant}!!", LocalDateTime.of(1970, 1, 1, 0, 0)
+                        .toInstant(ZoneOffset.UTC)), "hello 1970-01-01T00:00:00Z!!");
+    }
+
+    @Test
+    public void duration()
+    {
+        Duration duration = Duration.ofSeconds(3661);
+
+        Assert.assertEquals(Humanize.format("took {0, java.duration}", duration), "took 1:01:01");
+        Assert.assertEquals(Humanize.format("took {0, java.duration, french.decimal}", duration), "took 1h 1m 1s");
+    }
+
+    @BeforeClass
+    void setUp()
+    {
+        this.defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ENGLISH);
+    }
+
+    @AfterClass
+    void tearDown()
+    {
+        Locale.setDefault(defaultLocale);
+    }
+
+}
@@ -0,0 +1,51 @@
+package humanize.time.javatime;
+
+import static humanize.time.javatime.FormatNames.FORMAT_JAVA_TIME;
+import static humanize.time.javatime.FormatNames.FULL_DATE;
+import static humanize.time.javatime.FormatNames.ISO_BASIC_DATE;
+
+import java.text.Format;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TestJavaTimeFormat
+{
+
+    @Test
+    public void instance() throws ParseException
+    {
+        Format fmt = JavaTimeFormatProvider.factory().getFormat(FORMAT_JAVA_TIME, FULL_DATE, Locale.ENGLISH);
+        LocalDate begin = LocalDate.of(1970, 1, 1);
+        Assert.assertEquals(fmt.format(begin), "Thursday, January 1, 1970");
+        Assert.assertEquals(LocalDate.from((TemporalAccessor) fmt.parseObject("Thursday, January 1, 1970")), begin);
+
+        fmt = JavaTimeFormatProvider.factory().getFormat(FORMAT_JAVA_TIME, ISO_BASIC_DATE, Locale.ENGLISH);
+        Assert.assertEquals(fmt.format(begin), "19700101");
+        Assert.assertEquals(LocalDate.from((TemporalAccessor) fmt.parseObject("19700101")), begin);
+
+        fmt = JavaTimeFormatProvider.factory().getFormat("java.time", null, Locale.ENGLISH);
+        Assert.assertEquals(fmt.format(begin), "1/1/70");
+    }
+
+    @Test
+    public void sharedFormatters()
+    {
+        Assert.assertSame(DateTimeFormatters.get("yyyy-MM-dd", Locale.ENGLISH),
+                DateTimeFormatters.get("yyyy-MM-dd", Locale.ENGLISH));
+        Assert.assertNotSame(DateTimeFormatters.get("yyyy-MM-dd", Locale.ENGLISH),
+                DateTimeFormatters.get("yyyy-MM-dd", Locale.FRENCH));
+        Assert.assertEquals(DateTimeFormatters.get(FULL_DATE, Locale.FRENCH).getLocale(), Locale.FRENCH);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidPattern()
+    {
+        DateTimeFormatters.get("{{", Locale.ENGLISH);
+    }
+
+}
@@ -0,0 +1,111 @@
+package humanize.time.javatime;
+
+import static humanize.time.javatime.JavaTimeHumanize.duration;
+import static humanize.time.javatime.JavaTimeHumanize.formatDate;
+import static humanize.time.javatime.JavaTimeHumanize.naturalDay;
+import static humanize.time.javatime.JavaTimeHumanize.naturalTime;
+import static org.testng.Assert.assertEquals;
+
+import humanize.Humanize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class TestJavaTimeHumanize
+{
+
+    private static final Locale ES = new Locale("es", "ES");
+
+    private Locale defaultLocale;
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void naturalTimeTest()
+    {
+        Instant zero = Instant.ofEpochMilli(0);
+
+        assertEquals(naturalTime(zero, zero.plusSeconds(3 * 60)), "3 minutes from now");
+        assertEquals(naturalTime(zero, zero.minusSeconds(3 * 24 * 3600)), "3 days ago");
+        assertEquals(naturalTime(zero, zero.minusSeconds(3 * 24 * 3600), ES), "hace 3 días");
+        assertEquals(naturalTime(OffsetDateTime.of(2015, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+                ZonedDateTime.of(2015, 1, 1, 2, 0, 0, 0, ZoneOffset.UTC)), "2 hours from now");
+        assertEquals(naturalTime(Duration.ofMinutes(-5)), "5 minutes ago");
+        assertEquals(naturalTime(Duration.ofMinutes(-5), ES), "hace 5 minutos");
+
+        Instant moment = zero.plus(Duration.ofDays(3).plusHours(15).plusMinutes(38));
+        assertEquals(naturalTime(zero, moment, Duration.ofHours(1)), "3 days 16 hours from now");
+        assertEquals(naturalTime(zero, moment, Duration.ofDays(1)), "4 days from now");
+    }
+
+    @Test
+    public void relativeToClockTest()
+    {
+        long now = Humanize.pinClock();
+
+        try
+        {
+            assertEquals(naturalTime(Instant.ofEpochMilli(now).minusSeconds(2 * 3600)), "2 hours ago");
+            assertEquals(naturalTime(Instant.ofEpochMilli(now).minusSeconds(2 * 3600), ES), "hace 2 horas");
+        } finally
+        {
+            Humanize.unpinClock();
+        }
+    }
+
+    @Test
+    public void naturalDayTest()
+    {
+        ZoneId zone = ZoneId.of("Pacific/Kiritimati");
+        ZonedDateTime today = ZonedDateTime.now(zone).toLocalDate().atStartOfDay(zone);
+
+        assertEquals(naturalDay(today), "today");
+        assertEquals(naturalDay(today.minusNanos(1000000)), "yesterday");
+        assertEquals(naturalDay(today.plusDays(1), ES), "mañana");
+        assertEquals(naturalDay(today.toInstant(), zone), "today");
+        assertEquals(naturalDay(LocalDate.now()), "today");
+        assertEquals(naturalDay(LocalDate.now().minusDays(1), ES), "ayer");
+        assertEquals(naturalDay(LocalDate.of(1970, 1, 1)), "1/1/70");
+    }
+
+    @Test
+    public void formatDateTest()
+    {
+        LocalDate date = LocalDate.of(2015, 3, 8);
+
+        assertEquals(formatDate(date, "dd/MM/yyyy"), "08/03/2015");
+        assertEquals(formatDate(date, FormatNames.LONG_DATE), "March 8, 2015");
+        assertEquals(formatDate(date, "MMMM", ES), "marzo");
+        assertEquals(formatDate(Instant.ofEpochMilli(0), FormatNames.ISO_INSTANT), "1970-01-01T00:00:00Z");
+    }
+
+    @Test
+    public void durationTest()
+    {
+        assertEquals(duration(Duration.ofSeconds(3661)), "1:01:01");
+        assertEquals(duration(Duration.ofMillis(-61500)), "-0:01:01");
+        assertEquals(duration(Duration.ofSeconds(59), ES), "0:00:59");
+    }
+
+    @BeforeClass
+    void setUp()
+    {
+        this.defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ENGLISH);
+    }
+
+    @AfterClass
+    void tearDown()
+    {
+        Locale.setDefault(defaultLocale);
+    }
+
+}
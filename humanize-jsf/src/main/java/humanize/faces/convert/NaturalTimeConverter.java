@@ -68,7 +68,7 @@ public class NaturalTimeConverter extends BaseConverter
     private Date getReference()
     {
 
-        return reference == null ? new Date() : asDate(reference);
+        return reference == null ? new Date(Humanize.clock().millis()) : asDate(reference);
 
     }
 
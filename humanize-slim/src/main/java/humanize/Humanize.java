@@ -26,47 +26,60 @@ package humanize;
 import static humanize.util.Constants.COMB_DIACRITICAL;
 import static humanize.util.Constants.EMPTY;
 import static humanize.util.Constants.HYPEN_SPACE;
-import static humanize.util.Constants.ND_FACTOR;
 import static humanize.util.Constants.ONLY_SLUG_CHARS;
-import static humanize.util.Constants.ORDINAL_FMT;
 import static humanize.util.Constants.PUNCTUATION;
 import static humanize.util.Constants.SPACE;
 import static humanize.util.Constants.SPLIT_CAMEL;
 import static humanize.util.Constants.THOUSAND;
 import static humanize.util.Constants.bigDecExponents;
 import static humanize.util.Constants.binPrefixes;
-import static humanize.util.Constants.commaJoiner;
+import static humanize.util.Constants.longExponents;
 import static humanize.util.Constants.metricPrefixes;
 import static humanize.util.Constants.nanoTimePrefixes;
 import static humanize.util.Constants.titleIgnoredWords;
 import static humanize.util.Constants.titleWordSperator;
 import humanize.spi.Expose;
 import humanize.spi.MessageFormat;
+import humanize.spi.context.Clock;
 import humanize.spi.context.ContextFactory;
 import humanize.spi.context.DefaultContext;
 import humanize.spi.context.DefaultContextFactory;
+import humanize.spi.context.ScopedClock;
+import humanize.spi.context.SystemClock;
+import humanize.text.CollationMatcher;
+import humanize.text.CompiledMask;
 import humanize.text.MaskFormat;
-import humanize.text.util.InterpolationHelper;
-import humanize.text.util.Replacer;
+import humanize.text.OrdinalTable;
+import humanize.text.OxfordJoiner;
+import humanize.text.Pluralizer;
+import humanize.text.WordWrapper;
+import humanize.text.util.SupplementaryEscaper;
+import humanize.time.DurationStyle;
+import humanize.time.ISODateParser;
+import humanize.time.LocalDays;
 import humanize.time.Pace;
 import humanize.time.Pace.Accuracy;
 import humanize.time.PrettyTimeFormat;
+import humanize.time.RelativeTimeFormatter;
+import humanize.time.SmartDateParser;
 import humanize.time.TimeMillis;
 import humanize.util.Constants.TimeStyle;
 import humanize.util.Parameters.PaceParameters;
 import humanize.util.Parameters.PluralizeParams;
 import humanize.util.Parameters.SlugifyParams;
+import humanize.util.SignificantFigures;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.text.BreakIterator;
-import java.text.ChoiceFormat;
-import java.text.Collator;
 import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
@@ -76,17 +89,18 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.ResourceBundle;
 import java.util.ServiceLoader;
+import java.util.TimeZone;
 import java.util.concurrent.Callable;
 import java.util.regex.Matcher;
 
-import javax.xml.bind.DatatypeConverter;
-
 import me.xuender.unidecode.Unidecode;
 
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ObjectArrays;
+import com.google.common.io.BaseEncoding;
+import com.google.common.math.LongMath;
 
 /**
  * <p>
@@ -101,6 +115,10 @@ public final class Humanize
 
     private static final ContextFactory contextFactory = loadContextFactory();
 
+    private static final ScopedClock clock = new ScopedClock(loadClock());
+
+    private static final CharMatcher XML_WHITESPACE = CharMatcher.anyOf(" \t\n\r");
+
     private static final ThreadLocal<DefaultContext> context = new ThreadLocal<DefaultContext>()
     {
         protected DefaultContext initialValue()
@@ -316,7 +334,35 @@ public final class Humanize
 
     /**
      * <p>
-     * Returns a SimpleDateFormat instance for the current thread.
+     * Gets the clock used by the operations relative to now. By default it
+     * reads the system clock, see {@link Clock} to plug another one.
+     * </p>
+     * 
+     * @return the clock
+     * @see #pinClock()
+     */
+    public static ScopedClock clock()
+    {
+        return clock;
+    }
+
+    /**
+     * <p>
+     * Gets the locale of the current context, which is the target locale
+     * while running the methods that take one, e.g. for formats of other
+     * modules.
+     * </p>
+     * 
+     * @return the locale of the current context
+     */
+    public static Locale currentLocale()
+    {
+        return context.get().getLocale();
+    }
+
+    /**
+     * <p>
+     * Returns a new SimpleDateFormat instance for the given pattern.
      * </p>
      * <h4>Date and Time Patterns</h4>
      * <p>
@@ -572,7 +618,8 @@ public final class Humanize
      * @param pattern
      *            Format pattern that follows the conventions of
      *            {@link java.text.SimpleDateFormat SimpleDateFormat}
-     * @return a DateFormat instance for the current thread
+     * @return a new DateFormat instance owned by the caller, copied from a
+     *         compiled format shared by all threads
      */
     public static DateFormat dateFormat(final String pattern)
     {
@@ -589,7 +636,7 @@ public final class Humanize
      *            {@link java.text.SimpleDateFormat SimpleDateFormat}
      * @param locale
      *            Target locale
-     * @return a DateFormat instance for the current thread
+     * @return a new DateFormat instance owned by the caller
      */
     public static DateFormat dateFormat(final String pattern, final Locale locale)
     {
@@ -754,11 +801,57 @@ public final class Humanize
      * @return a String with the formatted time according to the given style
      */
     public static String duration(final Number seconds, final TimeStyle style)
+    {
+        return duration(seconds, (DurationStyle) style);
+    }
+
+    /**
+     * <p>
+     * Formats a number of seconds as hours, minutes and seconds with a custom
+     * style.
+     * </p>
+     * 
+     * @param seconds
+     *            Number of seconds
+     * @param style
+     *            Duration style
+     * @return a String with the formatted time according to the given style
+     */
+    public static String duration(final Number seconds, final DurationStyle style)
     {
         int s = seconds.intValue();
         boolean neg = s < 0;
         s = Math.abs(s);
-        return style.format(context.get(), neg, s / 3600, (s / 60) % 60, s % 60);
+
+        StringBuilder sb = new StringBuilder(16);
+        style.formatTo(sb, context.get().getTimeSuffixes(), neg, s / 3600, (s / 60) % 60, s % 60);
+        return sb.toString();
+    }
+
+    /**
+     * <p>
+     * Same as {@link #duration(Number, DurationStyle)} for the specified
+     * locale.
+     * </p>
+     * 
+     * @param seconds
+     *            Number of seconds
+     * @param style
+     *            Duration style
+     * @param locale
+     *            Target locale
+     * @return a String with the formatted time
+     */
+    public static String duration(final Number seconds, final DurationStyle style, final Locale locale)
+    {
+        return withinLocale(new Callable<String>()
+        {
+            @Override
+            public String call() throws Exception
+            {
+                return duration(seconds, style);
+            }
+        }, locale);
     }
 
     /**
@@ -973,7 +1066,8 @@ public final class Humanize
 
     /**
      * <p>
-     * Formats a date according to the given pattern.
+     * Formats a date according to the given pattern. The pattern is compiled
+     * once per locale and shared by all threads.
      * </p>
      * 
      * @param value
@@ -985,7 +1079,7 @@ public final class Humanize
      */
     public static String formatDate(final Date value, final String pattern)
     {
-        return new SimpleDateFormat(pattern, currentLocale()).format(value);
+        return context.get().formatDate(pattern, value);
     }
 
     /**
@@ -1273,9 +1367,46 @@ public final class Humanize
      */
     public static boolean lossyEquals(final String source, final String target)
     {
-        Collator c = Collator.getInstance(currentLocale());
-        c.setStrength(Collator.PRIMARY);
-        return c.equals(source, target);
+        return context.get().getPrimaryCollator().equals(source, target);
+    }
+
+    /**
+     * <p>
+     * Creates a {@link CollationMatcher} that matches strings against the
+     * given candidates for primary differences only, the same as
+     * {@link #lossyEquals(String, String)} does for a single pair.
+     * </p>
+     * 
+     * @param candidates
+     *            The strings to be matched
+     * @return a thread-safe {@link CollationMatcher} instance
+     */
+    public static CollationMatcher lossyMatcher(final Collection<String> candidates)
+    {
+        return new CollationMatcher(candidates, context.get().getPrimaryCollator());
+    }
+
+    /**
+     * <p>
+     * Same as {@link #lossyMatcher(Collection)} for the specified locale.
+     * </p>
+     * 
+     * @param locale
+     *            The target locale
+     * @param candidates
+     *            The strings to be matched
+     * @return a thread-safe {@link CollationMatcher} instance
+     */
+    public static CollationMatcher lossyMatcher(final Locale locale, final Collection<String> candidates)
+    {
+        return withinLocale(new Callable<CollationMatcher>()
+        {
+            @Override
+            public CollationMatcher call() throws Exception
+            {
+                return lossyMatcher(candidates);
+            }
+        }, locale);
     }
 
     /**
@@ -1292,12 +1423,13 @@ public final class Humanize
      */
     public static String mask(final String mask, final String value)
     {
-        return maskFormat(mask).format(value);
+        return MaskFormat.format(mask, value);
     }
 
     /**
      * <p>
-     * Returns a {@link MaskFormat} instance for the current thread.
+     * Returns a new {@link MaskFormat} instance backed by the shared
+     * {@link CompiledMask} of the given mask.
      * </p>
      * 
      * @param mask
@@ -1306,9 +1438,7 @@ public final class Humanize
      */
     public static MaskFormat maskFormat(final String mask)
     {
-        MaskFormat maskFmt = context.get().getMaskFormat();
-        maskFmt.setMask(mask);
-        return maskFmt;
+        return new MaskFormat(mask);
     }
 
     /**
@@ -1491,9 +1621,31 @@ public final class Humanize
      */
     public static String naturalDay(int style, Date then)
     {
-        Date today = new Date();
-        long delta = then.getTime() - today.getTime();
-        long days = delta / ND_FACTOR;
+        return naturalDay(style, then.getTime(), TimeZone.getDefault());
+    }
+
+    /**
+     * Same as {@link #naturalDay(int, Date)} for an instant in epoch
+     * milliseconds, comparing calendar days in the given time zone.
+     * 
+     * <p>
+     * The bounds of the current day are cached per zone, so rendering large
+     * numbers of dates only looks up the zone offset of each one.
+     * </p>
+     * 
+     * @param style
+     *            The style of the Date
+     * @param then
+     *            The instant in epoch milliseconds
+     * @param zone
+     *            The time zone of the calendar days
+     * @return String with 'today', 'tomorrow' or 'yesterday' compared to
+     *         current day. Otherwise, returns a string formatted according to a
+     *         locale sensitive DateFormat.
+     */
+    public static String naturalDay(int style, long then, TimeZone zone)
+    {
+        long days = LocalDays.of(zone).fromToday(then, clock.millis());
 
         if (days == 0)
             return context.get().getMessage("today");
@@ -1502,7 +1654,48 @@ public final class Humanize
         else if (days == -1)
             return context.get().getMessage("yesterday");
 
-        return formatDate(style, then);
+        return context.get().formatDate(style, new Date(then), zone);
+    }
+
+    /**
+     * Same as {@link #naturalDay(int, long, TimeZone)} with DateFormat.SHORT
+     * style.
+     * 
+     * @param then
+     *            The instant in epoch milliseconds
+     * @param zone
+     *            The time zone of the calendar days
+     * @return String with 'today', 'tomorrow' or 'yesterday' compared to
+     *         current day. Otherwise, returns a string formatted according to a
+     *         locale sensitive DateFormat.
+     */
+    public static String naturalDay(long then, TimeZone zone)
+    {
+        return naturalDay(DateFormat.SHORT, then, zone);
+    }
+
+    /**
+     * Same as {@link #naturalDay(long, TimeZone)} with the given locale.
+     * 
+     * @param then
+     *            The instant in epoch milliseconds
+     * @param zone
+     *            The time zone of the calendar days
+     * @param locale
+     *            Target locale
+     * @return String with 'today', 'tomorrow' or 'yesterday' compared to
+     *         current day. Otherwise, returns a string formatted according to a
+     *         locale sensitive DateFormat.
+     */
+    public static String naturalDay(final long then, final TimeZone zone, final Locale locale)
+    {
+        return withinLocale(new Callable<String>()
+        {
+            public String call() throws Exception
+            {
+                return naturalDay(then, zone);
+            }
+        }, locale);
     }
 
     /**
@@ -1538,7 +1731,7 @@ public final class Humanize
      */
     public static String naturalTime(Date duration)
     {
-        return naturalTime(new Date(), duration);
+        return naturalTime(new Date(clock.millis()), duration);
     }
 
     /**
@@ -1666,7 +1859,7 @@ public final class Humanize
     @Expose
     public static String naturalTime(final Date duration, final Locale locale)
     {
-        return naturalTime(new Date(), duration, locale);
+        return naturalTime(new Date(clock.millis()), duration, locale);
     }
 
     /**
@@ -1681,7 +1874,7 @@ public final class Humanize
      */
     public static String naturalTime(Date duration, long precision)
     {
-        return naturalTime(new Date(), duration, precision);
+        return naturalTime(new Date(clock.millis()), duration, precision);
     }
 
     /**
@@ -1697,7 +1890,7 @@ public final class Humanize
      */
     public static String naturalTime(final Date duration, final long precision, final Locale locale)
     {
-        return naturalTime(new Date(), duration, precision, locale);
+        return naturalTime(new Date(clock.millis()), duration, precision, locale);
     }
 
     /**
@@ -1730,6 +1923,49 @@ public final class Humanize
         return naturalTime(duration, precision.millis(), locale);
     }
 
+    /**
+     * Same as {@link #naturalTime(Date, Date)} for dates given in epoch
+     * milliseconds.
+     * 
+     * <p>
+     * The time units of each locale are resolved once and the resulting texts
+     * are memoized, so formatting large numbers of timestamps does not create
+     * any {@link Date} nor copy the units.
+     * </p>
+     * 
+     * @param reference
+     *            The reference in milliseconds
+     * @param duration
+     *            The duration in milliseconds
+     * @return String representing the relative date
+     */
+    public static String naturalTime(long reference, long duration)
+    {
+        return context.get().formatRelativeDate(reference, duration);
+    }
+
+    /**
+     * Same as {@link #naturalTime(long, long)} for the specified locale.
+     * 
+     * @param reference
+     *            The reference in milliseconds
+     * @param duration
+     *            The duration in milliseconds
+     * @param locale
+     *            The locale
+     * @return String representing the relative date
+     */
+    public static String naturalTime(final long reference, final long duration, final Locale locale)
+    {
+        return withinLocale(new Callable<String>()
+        {
+            public String call()
+            {
+                return naturalTime(reference, duration);
+            }
+        }, locale);
+    }
+
     /**
      * Converts a number to its ordinal as a string.
      * 
@@ -1743,13 +1979,19 @@ public final class Humanize
      */
     public static String ordinal(Number value)
     {
-        int v = value.intValue();
-        int vc = v % 100;
-
-        if (vc > 10 && vc < 14)
-            return String.format(ORDINAL_FMT, v, context.get().ordinalSuffix(0));
+        return ordinal(value.intValue());
+    }
 
-        return String.format(ORDINAL_FMT, v, context.get().ordinalSuffix(v % 10));
+    /**
+     * Same as {@link #ordinal(Number)} for primitive values.
+     * 
+     * @param value
+     *            The number to convert
+     * @return String representing the number as ordinal
+     */
+    public static String ordinal(int value)
+    {
+        return context.get().getOrdinalTable().format(value);
     }
 
     /**
@@ -1773,6 +2015,39 @@ public final class Humanize
         }, locale);
     }
 
+    /**
+     * <p>
+     * Gets the table of ordinal suffixes for the current locale. Useful to
+     * append ordinals to an existing buffer with
+     * {@link OrdinalTable#formatTo(long, StringBuilder)}.
+     * </p>
+     * 
+     * @return the {@link OrdinalTable} for the current locale
+     */
+    public static OrdinalTable ordinalTable()
+    {
+        return context.get().getOrdinalTable();
+    }
+
+    /**
+     * Same as {@link #ordinalTable()} for the specified locale.
+     * 
+     * @param locale
+     *            The locale
+     * @return the {@link OrdinalTable} for the given locale
+     */
+    public static OrdinalTable ordinalTable(final Locale locale)
+    {
+        return withinLocale(new Callable<OrdinalTable>()
+        {
+            @Override
+            public OrdinalTable call() throws Exception
+            {
+                return ordinalTable();
+            }
+        }, locale);
+    }
+
     /**
      * <p>
      * Converts a list of items to a human readable string.
@@ -1784,7 +2059,7 @@ public final class Humanize
      */
     public static String oxford(Collection<?> items)
     {
-        return oxford(items.toArray());
+        return oxford(items, -1, null);
     }
 
     /**
@@ -1804,7 +2079,7 @@ public final class Humanize
      */
     public static String oxford(Collection<?> items, int limit, String limitStr)
     {
-        return oxford(items.toArray(), limit, limitStr);
+        return context.get().getOxfordJoiner().limit(limit, limitStr).join(items);
     }
 
     /**
@@ -1819,7 +2094,7 @@ public final class Humanize
     @Expose
     public static String oxford(Collection<?> items, Locale locale)
     {
-        return oxford(items.toArray(), locale);
+        return oxfordJoiner(locale).join(items);
     }
 
     /**
@@ -1853,42 +2128,7 @@ public final class Humanize
      */
     public static String oxford(final Object[] items, final int limit, final String limitStr)
     {
-        if (items == null || items.length == 0)
-        {
-            return "";
-        }
-
-        int itemsNum = items.length;
-
-        if (itemsNum == 1)
-        {
-            return items[0].toString();
-        }
-
-        ResourceBundle bundle = context.get().getBundle();
-
-        if (itemsNum == 2)
-        {
-            return format(bundle.getString("oxford.pair"), items[0], items[1]);
-        }
-
-        int limitIndex;
-        String append;
-        int extra = itemsNum - limit;
-
-        if (limit > 0 && extra > 1)
-        {
-            limitIndex = limit;
-            String pattern = Strings.isNullOrEmpty(limitStr) ? bundle.getString("oxford.extra") : limitStr;
-            append = format(pattern, extra);
-        } else
-        {
-            limitIndex = itemsNum - 1;
-            append = items[limitIndex].toString();
-        }
-
-        String pattern = bundle.getString("oxford");
-        return format(pattern, commaJoiner.join(Arrays.copyOf(items, limitIndex)), append);
+        return context.get().getOxfordJoiner().limit(limit, limitStr).join(items);
     }
 
     /**
@@ -1931,6 +2171,40 @@ public final class Humanize
         return oxford(items, -1, null, locale);
     }
 
+    /**
+     * <p>
+     * Gets a reusable joiner that converts lists of items to human readable
+     * strings, like {@link #oxford(Collection)} but streaming the items from
+     * any {@link Iterable}. The joiner is bound to the current locale and can
+     * be shared between threads.
+     * </p>
+     * 
+     * @return an {@link OxfordJoiner} for the current locale
+     */
+    public static OxfordJoiner oxfordJoiner()
+    {
+        return context.get().getOxfordJoiner();
+    }
+
+    /**
+     * Same as {@link #oxfordJoiner()} for the specified locale.
+     * 
+     * @param locale
+     *            Target locale
+     * @return an {@link OxfordJoiner} for the given locale
+     */
+    public static OxfordJoiner oxfordJoiner(final Locale locale)
+    {
+        return withinLocale(new Callable<OxfordJoiner>()
+        {
+            @Override
+            public OxfordJoiner call() throws Exception
+            {
+                return oxfordJoiner();
+            }
+        }, locale);
+    }
+
     /**
      * Matches a pace (value and interval) with a logical time frame. Very
      * useful for slow paces.
@@ -2121,15 +2395,18 @@ public final class Humanize
     }
 
     /**
-     * Converts the string argument into an array of bytes.
+     * Converts the string argument into an array of bytes. Whitespace, e.g.
+     * line breaks, is ignored and the padding is optional.
      * 
      * @param base64str
      *            The Base64 encoded string
      * @return an array of bytes with the decoded content
+     * @throws IllegalArgumentException
+     *             if the string is not valid Base64
      */
     public static byte[] parseBase64(String base64str)
     {
-        return DatatypeConverter.parseBase64Binary(base64str);
+        return BaseEncoding.base64().decode(CharMatcher.WHITESPACE.removeFrom(base64str));
     }
 
     /**
@@ -2138,22 +2415,28 @@ public final class Humanize
      * @param dateStr
      *            The ISO8601 date string
      * @return the converted Date
+     * @throws IllegalArgumentException
+     *             if the string is not a valid ISO8601 date
+     * @see ISODateParser
      */
     public static Date parseISODate(String dateStr)
     {
-        return DatatypeConverter.parseDate(dateStr).getTime();
+        return ISODateParser.parseDate(dateStr);
     }
 
     /**
      * Converts the string argumento into a Date value.
      * 
      * @param dateStr
-     *            The ISO8601 date string
+     *            The ISO8601 date string, surrounding whitespace is ignored
      * @return the converted Date
+     * @throws IllegalArgumentException
+     *             if the string is not a valid ISO8601 date
+     * @see ISODateParser
      */
     public static Date parseISODateTime(String dateStr)
     {
-        return DatatypeConverter.parseDateTime(dateStr).getTime();
+        return ISODateParser.parseDate(XML_WHITESPACE.trimFrom(dateStr));
     }
 
     /**
@@ -2162,10 +2445,13 @@ public final class Humanize
      * @param timeStr
      *            The ISO8601 time string
      * @return the converted Date
+     * @throws IllegalArgumentException
+     *             if the string is not a valid ISO8601 date
+     * @see ISODateParser
      */
     public static Date parseISOTime(String timeStr)
     {
-        return DatatypeConverter.parseTime(timeStr).getTime();
+        return ISODateParser.parseDate(timeStr);
     }
 
     /**
@@ -2195,7 +2481,7 @@ public final class Humanize
      */
     public static Date parseSmartDate(String dateStr, String... fmts)
     {
-        return parseSmartDateWithSeparator(dateStr, "[\\D-_\\s]+", fmts);
+        return parseSmartDateWithSeparator(dateStr, SmartDateParser.DEFAULT_SEPARATOR, fmts);
     }
 
     /**
@@ -2204,6 +2490,11 @@ public final class Humanize
      * patterns. The formats are automatically cached.
      * </p>
      * 
+     * <p>
+     * To parse many dates, e.g. a column of a CSV file, see
+     * {@link #smartDateParser(String...)}.
+     * </p>
+     * 
      * @param dateStr
      *            The date string
      * @param separator
@@ -2215,22 +2506,33 @@ public final class Humanize
      */
     public static Date parseSmartDateWithSeparator(final String dateStr, final String separator, final String... fmts)
     {
-        String tmp = dateStr.replaceAll(separator, "/");
-
-        for (String fmt : fmts)
-        {
-            try
-            {
-                DateFormat df = dateFormat(fmt); // cached
-                df.setLenient(false);
-                return df.parse(tmp);
-            } catch (ParseException ignored)
-            {
-                //
-            }
-        }
+        return context.get().getSmartDateParser(separator, fmts).parse(dateStr);
+    }
 
-        throw new IllegalArgumentException("Unable to parse date '" + dateStr + "'");
+    /**
+     * <p>
+     * Pins the clock of the current thread to the current time, so that every
+     * operation relative to now sees the same timestamp until
+     * {@link #unpinClock()} is called. Useful to render a whole page against a
+     * single reading of the clock.
+     * </p>
+     * 
+     * <pre>
+     * Humanize.pinClock();
+     * try
+     * {
+     *     // render
+     * } finally
+     * {
+     *     Humanize.unpinClock();
+     * }
+     * </pre>
+     * 
+     * @return the pinned timestamp in epoch milliseconds
+     */
+    public static long pinClock()
+    {
+        return clock.pin();
     }
 
     /**
@@ -2300,7 +2602,7 @@ public final class Humanize
         Preconditions.checkNotNull(p.one, "Please, specify a format for a single element");
 
         String none = p.none == null ? p.many : p.none;
-        MessageFormat format = pluralizeFormat("{0}", none, p.one, p.many);
+        MessageFormat format = context.get().getPluralizeFormat("{0}", none, p.one, p.many);
         Object[] fp = p.exts == null ? new Object[] { number } : ObjectArrays.concat(number, p.exts);
         return format.render(fp);
     }
@@ -2373,24 +2675,8 @@ public final class Humanize
      */
     public static MessageFormat pluralizeFormat(final String template)
     {
-        String[] tokens = template.split("\\s*\\:{2}\\s*");
-
-        if (tokens.length < 4)
-        {
-            if (tokens.length == 2)
-            {
-                tokens = new String[] { "{0}", tokens[1], tokens[0], tokens[1] };
-            } else if (tokens.length == 3)
-            {
-                tokens = new String[] { "{0}", tokens[0], tokens[1], tokens[2] };
-            } else
-            {
-                throw new IllegalArgumentException(String.format(
-                        "Template '%s' must declare at least 2 tokens. V.gr. 'one thing::{0} things'", template));
-            }
-        }
-
-        return pluralizeFormat(tokens[0], Arrays.copyOfRange(tokens, 1, tokens.length));
+        // the cached instance is shared by the thread, hand out a copy
+        return (MessageFormat) context.get().getPluralizeFormat(template).clone();
     }
 
     /**
@@ -2429,18 +2715,37 @@ public final class Humanize
      */
     public static MessageFormat pluralizeFormat(final String pattern, final String... choices)
     {
-        double[] indexes = new double[choices.length];
-
-        for (int i = 0; i < choices.length; i++)
-        {
-            indexes[i] = i;
-        }
+        // the cached instance is shared by the thread, hand out a copy
+        return (MessageFormat) context.get().getPluralizeFormat(pattern, choices).clone();
+    }
 
-        ChoiceFormat choiceForm = new ChoiceFormat(indexes, choices);
-        MessageFormat format = (MessageFormat) messageFormat(pattern).clone();
-        format.setFormat(0, choiceForm);
+    /**
+     * <p>
+     * Compiles the given parameters into a reusable, thread-safe
+     * {@link Pluralizer} for the current locale.
+     * </p>
+     * 
+     * @param params
+     *            The pluralization parameters
+     * @return a Pluralizer bound to the current locale
+     */
+    public static Pluralizer pluralizer(final PluralizeParams params)
+    {
+        return new Pluralizer(params, currentLocale());
+    }
 
-        return format;
+    /**
+     * Same as {@link #pluralizer(PluralizeParams)} for the specified locale.
+     * 
+     * @param params
+     *            The pluralization parameters
+     * @param locale
+     *            Target locale
+     * @return a Pluralizer bound to the given locale
+     */
+    public static Pluralizer pluralizer(final PluralizeParams params, final Locale locale)
+    {
+        return new Pluralizer(params, locale);
     }
 
     /**
@@ -2477,6 +2782,40 @@ public final class Humanize
         }, locale);
     }
 
+    /**
+     * <p>
+     * Returns a thread-safe {@link RelativeTimeFormatter} that memoizes the
+     * relative times of the current locale, as used by
+     * {@link #naturalTime(long, long)}.
+     * </p>
+     * 
+     * @return RelativeTimeFormatter instance
+     */
+    public static RelativeTimeFormatter relativeTimeFormatter()
+    {
+        return context.get().getRelativeTimeFormatter();
+    }
+
+    /**
+     * <p>
+     * Same as {@link #relativeTimeFormatter()} for the specified locale.
+     * </p>
+     * 
+     * @param locale
+     *            Target locale
+     * @return RelativeTimeFormatter instance
+     */
+    public static RelativeTimeFormatter relativeTimeFormatter(final Locale locale)
+    {
+        return withinLocale(new Callable<RelativeTimeFormatter>()
+        {
+            public RelativeTimeFormatter call() throws Exception
+            {
+                return relativeTimeFormatter();
+            }
+        }, locale);
+    }
+
     /**
      * <p>
      * Replaces characters outside the Basic Multilingual Plane with their name.
@@ -2490,21 +2829,25 @@ public final class Humanize
     @Expose
     public static String replaceSupplementary(final String value)
     {
-        return InterpolationHelper.replaceSupplementary(value, new Replacer()
-        {
-            public String replace(String in)
-            {
-                StringBuilder uc = new StringBuilder();
-
-                for (char c : in.toCharArray())
-                {
-                    uc.append("\\\\u");
-                    uc.append(Integer.toHexString(c).toUpperCase());
-                }
+        return SupplementaryEscaper.escape(value);
+    }
 
-                return uc.toString();
-            }
-        });
+    /**
+     * <p>
+     * Same as {@link #replaceSupplementary(String)} streaming from the given
+     * {@link Reader} to the given {@link Writer}.
+     * </p>
+     * 
+     * @param in
+     *            Source of the text to be matched
+     * @param out
+     *            Destination of the text with characters outside BMP replaced
+     *            by their unicode numbers
+     * @throws IOException
+     */
+    public static void replaceSupplementary(final Reader in, final Writer out) throws IOException
+    {
+        SupplementaryEscaper.escape(in, out);
     }
 
     /**
@@ -2512,6 +2855,11 @@ public final class Humanize
      * Rounds a number to significant figures.
      * </p>
      * 
+     * <p>
+     * Prefer {@link SignificantFigures} to round primitives without creating
+     * a BigDecimal for each value.
+     * </p>
+     * 
      * @param num
      *            The number to be rounded
      * @param precision
@@ -2608,10 +2956,34 @@ public final class Humanize
         return params.isToLowerCase ? result.toLowerCase() : result;
     }
 
+    /**
+     * <p>
+     * Gets a parser that applies the given non lenient format patterns in
+     * order, with "[\\D-_\\s]+" as the separator. Parsers are cached per
+     * patterns and locale, and can be shared by any number of threads.
+     * </p>
+     * 
+     * <pre>
+     * SmartDateParser parser = Humanize.smartDateParser(&quot;dd/MM/yy&quot;, &quot;yyyy/MM/dd&quot;);
+     * List&lt;Date&gt; dates = parser.parseAll(column);
+     * </pre>
+     * 
+     * @param fmts
+     *            An array of formats
+     * @return a thread-safe {@link SmartDateParser} instance
+     * @see #parseSmartDate(String, String...)
+     */
+    public static SmartDateParser smartDateParser(String... fmts)
+    {
+        return context.get().getSmartDateParser(SmartDateParser.DEFAULT_SEPARATOR, fmts);
+    }
+
     /**
      * <p>
      * Converts a big number to a friendly text representation. Accepts values
-     * ranging from thousands to googols. Uses BigDecimal.
+     * ranging from thousands to googols. Values within the long range are
+     * bucketed with primitive arithmetic, BigDecimal is only used for the
+     * rest.
      * </p>
      * 
      * @param value
@@ -2620,6 +2992,24 @@ public final class Humanize
      */
     public static String spellBigNumber(final Number value)
     {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+        {
+            long l = value.longValue();
+
+            if (l != Long.MIN_VALUE)
+                return spellBigNumber(value, l, l, 0);
+        } else if (value instanceof Double || value instanceof Float)
+        {
+            double d = value.doubleValue();
+
+            if (Math.abs(d) < 0x1p63)
+                return spellDecimal(value, d);
+        } else if (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64)
+        {
+            long l = value.longValue();
+            return spellBigNumber(value, l, l, 0);
+        }
+
         BigDecimal v = new BigDecimal(value.toString());
 
         if (THOUSAND.compareTo(v.abs()) > 0)
@@ -2730,11 +3120,7 @@ public final class Humanize
      */
     public static String times(final Number num)
     {
-        java.text.MessageFormat f = new java.text.MessageFormat(
-                context.get().getBundle().getString("times.choice"),
-                currentLocale()
-                );
-        return f.format(new Object[] { Math.abs(num.intValue()) });
+        return context.get().getTimesFormat().format(new Object[] { Math.abs(num.intValue()) });
     }
 
     /**
@@ -2878,7 +3264,17 @@ public final class Humanize
      */
     public static String unmask(final String mask, final String value) throws ParseException
     {
-        return maskFormat(mask).parse(value);
+        return MaskFormat.parse(mask, value);
+    }
+
+    /**
+     * <p>
+     * Releases the pin set by {@link #pinClock()} on the current thread.
+     * </p>
+     */
+    public static void unpinClock()
+    {
+        clock.unpin();
     }
 
     /**
@@ -2898,15 +3294,61 @@ public final class Humanize
         if (len < 0 || value.length() <= len)
             return value;
 
-        BreakIterator bi = BreakIterator.getWordInstance(currentLocale());
+        BreakIterator bi = context.get().getWordBreakIterator();
         bi.setText(value);
 
         return value.substring(0, bi.following(len));
     }
 
-    private static Locale currentLocale()
+    /**
+     * <p>
+     * Returns a {@link WordWrapper} for the current locale to wrap or truncate
+     * streams of text at word boundaries.
+     * </p>
+     * 
+     * @param width
+     *            Number of characters per line
+     * @return a thread-safe {@link WordWrapper} instance
+     * @see WordWrapper
+     */
+    public static WordWrapper wordWrapper(final int width)
     {
-        return context.get().getLocale();
+        return new WordWrapper(width, context.get().getWordBreakIterator());
+    }
+
+    /**
+     * <p>
+     * Same as {@link #wordWrapper(int)} for the specified locale.
+     * </p>
+     * 
+     * @param width
+     *            Number of characters per line
+     * @param locale
+     *            Target locale
+     * @return a thread-safe {@link WordWrapper} instance
+     */
+    public static WordWrapper wordWrapper(final int width, final Locale locale)
+    {
+        return withinLocale(new Callable<WordWrapper>()
+        {
+            public WordWrapper call() throws Exception
+            {
+                return wordWrapper(width);
+            }
+        }, locale);
+    }
+
+    private static Clock loadClock()
+    {
+        ServiceLoader<Clock> ldr = ServiceLoader.load(Clock.class);
+
+        for (Clock candidate : ldr)
+        {
+            if (!(candidate instanceof SystemClock))
+                return candidate;
+        }
+
+        return new SystemClock();
     }
 
     private static ContextFactory loadContextFactory()
@@ -2987,6 +3429,82 @@ public final class Humanize
         return capitalize(word);
     }
 
+    /**
+     * Spells the decimal unscaled * 10^-scale, whose integral part is given,
+     * as the BigDecimal path would spell new BigDecimal(original.toString()).
+     */
+    private static String spellBigNumber(final Number original, final long integral, final long unscaled,
+            final int scale)
+    {
+        long abs = Math.abs(integral);
+
+        if (abs < 1000)
+            return original.toString();
+
+        int exponent = LongMath.log10(abs, RoundingMode.FLOOR) / 3;
+        String key = longExponents[exponent - 1];
+
+        // the plural follows the truncated unscaled value, as in the BigDecimal
+        // path; the quotient is exact, so {0,number} rounds the same too
+        return context.get().formatMessage(needPlural((int) unscaled) ? key + ".pl" : key,
+                BigDecimal.valueOf(unscaled, scale + exponent * 3));
+    }
+
+    /**
+     * Takes the digits of a double or float within the long range as
+     * toString() prints them, e.g. '1234567.0' or '1.0E10'.
+     */
+    private static String spellDecimal(final Number original, final double d)
+    {
+        long integral = (long) d;
+
+        if (original instanceof Double && d == integral && Math.abs(d) < 0x1p53)
+        {
+            // exact integers print all their significant digits
+            if (Math.abs(d) < 1e7)
+                return spellBigNumber(original, integral, integral * 10, 1);
+
+            long unscaled = integral;
+            int scale = 0;
+
+            while (unscaled % 10 == 0)
+            {
+                unscaled /= 10;
+                scale--;
+            }
+
+            if (Math.abs(unscaled) < 10)
+                return spellBigNumber(original, integral, unscaled * 10, scale + 1);
+
+            return spellBigNumber(original, integral, unscaled, scale);
+        }
+
+        String text = original.toString();
+        long unscaled = 0;
+        int scale = 0;
+        boolean fraction = false;
+
+        for (int i = (d < 0) ? 1 : 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+
+            if (c == '.')
+            {
+                fraction = true;
+            } else if (c == 'E')
+            {
+                scale -= Integer.parseInt(text.substring(i + 1));
+                break;
+            } else
+            {
+                unscaled = unscaled * 10 + (c - '0');
+                scale += fraction ? 1 : 0;
+            }
+        }
+
+        return spellBigNumber(original, integral, (d < 0) ? -unscaled : unscaled, scale);
+    }
+
     private static String stripZeros(final DecimalFormat decf, final String fmtd)
     {
         char decsep = decf.getDecimalFormatSymbols().getDecimalSeparator();
@@ -0,0 +1,25 @@
+package humanize.spi.context;
+
+/**
+ * <p>
+ * Source of the current time for the operations relative to now, such as
+ * {@link humanize.Humanize#naturalTime(java.util.Date)}.
+ * </p>
+ * 
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader}, the
+ * first one other than {@link SystemClock} wins. They must be thread-safe.
+ * </p>
+ * 
+ */
+public interface Clock
+{
+
+    /**
+     * Gets the current time.
+     * 
+     * @return the current time in epoch milliseconds
+     */
+    long millis();
+
+}
@@ -5,20 +5,39 @@ import static humanize.util.Constants.SPACE;
 import humanize.spi.MessageFormat;
 import humanize.spi.cache.CacheProvider;
 import humanize.text.MaskFormat;
+import humanize.text.OrdinalTable;
+import humanize.text.OxfordJoiner;
 import humanize.time.PrettyTimeFormat;
+import humanize.time.RelativeTimeFormatter;
+import humanize.time.SharedDateFormat;
+import humanize.time.SmartDateParser;
 import humanize.util.UTF8Control;
 
+import java.text.BreakIterator;
+import java.text.ChoiceFormat;
+import java.text.Collator;
 import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
-import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.ServiceLoader;
+import java.util.TimeZone;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ObjectArrays;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 /**
  * Default implementation of {@link Context}.
@@ -51,10 +70,32 @@ public class DefaultContext implements Context, StandardContext
 
     private static final String SIMPLE_DATE = "simple.date";
 
+    private static final String SMART_DATE = "smart.date";
+
     private static final String PRETTY_TIME = "pretty.time";
 
+    private static final String RELATIVE_TIME = "relative.time";
+
     private static final String MASK = "mask";
 
+    private static final String WORD_BREAK = "word.break";
+
+    private static final String PRIMARY_COLLATOR = "primary.collator";
+
+    private static final String OXFORD = "oxford";
+
+    private static final String ORDINAL_TABLE = "ordinal.table";
+
+    private static final String TIME_SUFFIX_LIST = "time.suffix.list";
+
+    private static final String TIMES = "times";
+
+    private static final String PLURALIZE = "pluralize";
+
+    private static final String PLURALIZE_TEMPLATE = "pluralize.template";
+
+    private static final int MAX_PLURALIZE_FORMATS = 256;
+
     private final static CacheProvider sharedCache = loadCacheProvider();
 
     private static CacheProvider loadCacheProvider()
@@ -95,6 +136,29 @@ public class DefaultContext implements Context, StandardContext
         return getDateFormat(style).format(value);
     }
 
+    @Override
+    public String formatDate(int style, Date value, TimeZone zone)
+    {
+        DateFormat format = getDateFormat(style);
+        TimeZone original = format.getTimeZone();
+
+        // the format is confined to this thread
+        try
+        {
+            format.setTimeZone(zone);
+            return format.format(value);
+        } finally
+        {
+            format.setTimeZone(original);
+        }
+    }
+
+    @Override
+    public String formatDate(String pattern, Date value)
+    {
+        return getSharedDateFormat(pattern).format(value);
+    }
+
     @Override
     public String formatDateTime(Date date)
     {
@@ -127,6 +191,12 @@ public class DefaultContext implements Context, StandardContext
         return getPrettyTimeFormat().format(reference, duration);
     }
 
+    @Override
+    public String formatRelativeDate(long reference, long then)
+    {
+        return getRelativeTimeFormatter().format(reference, then);
+    }
+
     @Override
     public String formatRelativeDate(Date reference, Date duration, long precision)
     {
@@ -177,14 +247,7 @@ public class DefaultContext implements Context, StandardContext
     @Override
     public DateFormat getDateFormat(final String pattern)
     {
-        return localCache.getFormat(SIMPLE_DATE + pattern.hashCode(), locale, new Callable<DateFormat>()
-        {
-            @Override
-            public DateFormat call() throws Exception
-            {
-                return new SimpleDateFormat(pattern, locale);
-            }
-        });
+        return getSharedDateFormat(pattern).newInstance();
     }
 
     @Override
@@ -265,6 +328,34 @@ public class DefaultContext implements Context, StandardContext
         });
     }
 
+    @Override
+    public OrdinalTable getOrdinalTable()
+    {
+        return sharedCache.getFormat(ORDINAL_TABLE, locale, new Callable<OrdinalTable>()
+        {
+            @Override
+            public OrdinalTable call() throws Exception
+            {
+                return new OrdinalTable(getStrings(ORDINAL_SUFFIXES));
+            }
+        });
+    }
+
+    @Override
+    public OxfordJoiner getOxfordJoiner()
+    {
+        return sharedCache.getFormat(OXFORD, locale, new Callable<OxfordJoiner>()
+        {
+            @Override
+            public OxfordJoiner call() throws Exception
+            {
+                ResourceBundle bundle = getBundle();
+                return new OxfordJoiner(locale, bundle.getString("oxford"), bundle.getString("oxford.pair"), bundle
+                        .getString("oxford.extra"));
+            }
+        });
+    }
+
     @Override
     public DecimalFormat getPercentFormat()
     {
@@ -278,6 +369,80 @@ public class DefaultContext implements Context, StandardContext
         });
     }
 
+    /**
+     * Gets a pluralization message that uses a {@link ChoiceFormat} of the
+     * given choices for its first argument. The message is cached by pattern
+     * and choices for the current thread and must not be modified.
+     * 
+     * @param pattern
+     *            Base pattern
+     * @param choices
+     *            Values that match the pattern
+     * @return a cached message instance
+     */
+    @Override
+    public MessageFormat getPluralizeFormat(final String pattern, final String... choices)
+    {
+        return getCached(PLURALIZE, Arrays.asList(ObjectArrays.concat(pattern, choices)),
+                new Callable<MessageFormat>()
+                {
+                    @Override
+                    public MessageFormat call() throws Exception
+                    {
+                        double[] indexes = new double[choices.length];
+
+                        for (int i = 0; i < choices.length; i++)
+                        {
+                            indexes[i] = i;
+                        }
+
+                        MessageFormat format = getMessageFormat();
+                        format.applyPattern(pattern);
+                        format.setFormat(0, new ChoiceFormat(indexes, choices));
+                        return format;
+                    }
+                });
+    }
+
+    /**
+     * Same as {@link #getPluralizeFormat(String, String...)} for a template
+     * of tokens delimited by '::'.
+     * 
+     * @param template
+     *            String of tokens delimited by '::'
+     * @return a cached message instance
+     */
+    @Override
+    public MessageFormat getPluralizeFormat(final String template)
+    {
+        return getCached(PLURALIZE_TEMPLATE, template, new Callable<MessageFormat>()
+        {
+            @Override
+            public MessageFormat call() throws Exception
+            {
+                String[] tokens = splitPluralizeTemplate(template);
+
+                if (tokens.length < 4)
+                {
+                    if (tokens.length == 2)
+                    {
+                        tokens = new String[] { "{0}", tokens[1], tokens[0], tokens[1] };
+                    } else if (tokens.length == 3)
+                    {
+                        tokens = new String[] { "{0}", tokens[0], tokens[1], tokens[2] };
+                    } else
+                    {
+                        throw new IllegalArgumentException(String.format(
+                                "Template '%s' must declare at least 2 tokens. V.gr. 'one thing::{0} things'",
+                                template));
+                    }
+                }
+
+                return getPluralizeFormat(tokens[0], Arrays.copyOfRange(tokens, 1, tokens.length));
+            }
+        });
+    }
+
     @Override
     public PrettyTimeFormat getPrettyTimeFormat()
     {
@@ -291,6 +456,103 @@ public class DefaultContext implements Context, StandardContext
         });
     }
 
+    @Override
+    public Collator getPrimaryCollator()
+    {
+        return localCache.getFormat(PRIMARY_COLLATOR, locale, new Callable<Collator>()
+        {
+            @Override
+            public Collator call() throws Exception
+            {
+                Collator collator = Collator.getInstance(locale);
+                collator.setStrength(Collator.PRIMARY);
+                return collator;
+            }
+        });
+    }
+
+    @Override
+    public RelativeTimeFormatter getRelativeTimeFormatter()
+    {
+        return sharedCache.getFormat(RELATIVE_TIME, locale, new Callable<RelativeTimeFormatter>()
+        {
+            @Override
+            public RelativeTimeFormatter call() throws Exception
+            {
+                return new RelativeTimeFormatter(getPrettyTimeFormat());
+            }
+        });
+    }
+
+    @Override
+    public SharedDateFormat getSharedDateFormat(final String pattern)
+    {
+        return sharedCache.getFormat(SIMPLE_DATE + pattern, locale, new Callable<SharedDateFormat>()
+        {
+            @Override
+            public SharedDateFormat call() throws Exception
+            {
+                return new SharedDateFormat(pattern, locale);
+            }
+        });
+    }
+
+    @Override
+    public SmartDateParser getSmartDateParser(final String separator, final String... formats)
+    {
+        String name = SMART_DATE + '\u0000' + separator + '\u0000' + Joiner.on('\u0000').join(formats);
+
+        return sharedCache.getFormat(name, locale, new Callable<SmartDateParser>()
+        {
+            @Override
+            public SmartDateParser call() throws Exception
+            {
+                return new SmartDateParser(locale, separator, formats);
+            }
+        });
+    }
+
+    @Override
+    public List<String> getTimeSuffixes()
+    {
+        return sharedCache.getFormat(TIME_SUFFIX_LIST, locale, new Callable<List<String>>()
+        {
+            @Override
+            public List<String> call() throws Exception
+            {
+                return ImmutableList.copyOf(getStrings(TIME_SUFFIXES));
+            }
+        });
+    }
+
+    @Override
+    public java.text.MessageFormat getTimesFormat()
+    {
+        return localCache.getFormat(TIMES, locale, new Callable<java.text.MessageFormat>()
+        {
+            @Override
+            public java.text.MessageFormat call() throws Exception
+            {
+                return new java.text.MessageFormat(getBundle().getString("times.choice"), locale);
+            }
+        });
+    }
+
+    @Override
+    public BreakIterator getWordBreakIterator()
+    {
+        BreakIterator prototype = sharedCache.getFormat(WORD_BREAK, locale, new Callable<BreakIterator>()
+        {
+            @Override
+            public BreakIterator call() throws Exception
+            {
+                return BreakIterator.getWordInstance(locale);
+            }
+        });
+
+        return (BreakIterator) prototype.clone();
+    }
+
     @Override
     public String ordinalSuffix(int index)
     {
@@ -331,4 +593,78 @@ public class DefaultContext implements Context, StandardContext
         });
     }
 
+    private <K, V> V getCached(final String cacheName, K key, Callable<V> getCall)
+    {
+        Cache<K, V> cache = localCache.getFormat(cacheName, locale, new Callable<Cache<K, V>>()
+        {
+            @Override
+            public Cache<K, V> call() throws Exception
+            {
+                return CacheBuilder.newBuilder().maximumSize(MAX_PLURALIZE_FORMATS).build();
+            }
+        });
+
+        try
+        {
+            return cache.get(key, getCall);
+        } catch (ExecutionException e)
+        {
+            throw new RuntimeException(e.getCause());
+        } catch (UncheckedExecutionException e)
+        {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Splits on '::' and the whitespace around it, dropping trailing empty
+     * tokens like {@link String#split(String)}.
+     */
+    private static String[] splitPluralizeTemplate(String template)
+    {
+        List<String> tokens = new ArrayList<String>();
+        int len = template.length();
+        int start = 0;
+        int from = 0;
+        int sep;
+
+        while ((sep = template.indexOf("::", from)) > -1)
+        {
+            int end = sep;
+
+            while (end > start && isSplitWhitespace(template.charAt(end - 1)))
+            {
+                end--;
+            }
+
+            tokens.add(template.substring(start, end));
+
+            start = sep + 2;
+
+            while (start < len && isSplitWhitespace(template.charAt(start)))
+            {
+                start++;
+            }
+
+            from = start;
+        }
+
+        tokens.add(template.substring(start));
+
+        int size = tokens.size();
+
+        while (size > 1 && tokens.get(size - 1).isEmpty())
+        {
+            size--;
+        }
+
+        return tokens.subList(0, size).toArray(new String[size]);
+    }
+
+    private static boolean isSplitWhitespace(char c)
+    {
+        // same as the \s regex class
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
 }
@@ -0,0 +1,112 @@
+package humanize.spi.context;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>
+ * {@link Clock} that can be pinned to a single reading for the current
+ * thread. Between {@link #pin()} and {@link #unpin()}, e.g. while rendering a
+ * page, every operation relative to now sees the same timestamp and the
+ * underlying clock is not read again.
+ * </p>
+ * 
+ * <p>
+ * Pins nest: the timestamp of the outermost pin is kept until the matching
+ * unpin.
+ * </p>
+ * 
+ */
+public final class ScopedClock implements Clock
+{
+
+    /** Pinned timestamp and nesting depth of a thread */
+    private static final class Pin
+    {
+
+        long millis;
+
+        int depth;
+
+    }
+
+    private final Clock delegate;
+
+    /** Only pinned threads hold a value, so readers leave nothing behind */
+    private final ThreadLocal<Pin> pins = new ThreadLocal<Pin>();
+
+    public ScopedClock(Clock delegate)
+    {
+
+        this.delegate = Preconditions.checkNotNull(delegate);
+
+    }
+
+    public Clock getDelegate()
+    {
+
+        return delegate;
+
+    }
+
+    /**
+     * Whether the current thread is pinned to a timestamp.
+     * 
+     * @return true if the current thread is pinned
+     */
+    public boolean isPinned()
+    {
+
+        return pins.get() != null;
+
+    }
+
+    @Override
+    public long millis()
+    {
+
+        Pin pin = pins.get();
+        return pin != null ? pin.millis : delegate.millis();
+
+    }
+
+    /**
+     * Pins the current thread to the current time, or keeps the timestamp it
+     * is already pinned to.
+     * 
+     * @return the pinned timestamp in epoch milliseconds
+     */
+    public long pin()
+    {
+
+        Pin pin = pins.get();
+
+        if (pin == null)
+        {
+            pin = new Pin();
+            pin.millis = delegate.millis();
+            pins.set(pin);
+        }
+
+        pin.depth++;
+        return pin.millis;
+
+    }
+
+    /**
+     * Releases the innermost pin of the current thread.
+     */
+    public void unpin()
+    {
+
+        Pin pin = pins.get();
+
+        Preconditions.checkState(pin != null, "The clock is not pinned");
+
+        if (--pin.depth == 0)
+        {
+            pins.remove();
+        }
+
+    }
+
+}
@@ -1,20 +1,35 @@
 package humanize.spi.context;
 
 import humanize.spi.MessageFormat;
+import humanize.text.OrdinalTable;
+import humanize.text.OxfordJoiner;
 import humanize.time.PrettyTimeFormat;
+import humanize.time.RelativeTimeFormatter;
+import humanize.time.SharedDateFormat;
+import humanize.time.SmartDateParser;
 
+import java.text.BreakIterator;
+import java.text.Collator;
 import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
 
 public interface StandardContext
 {
 
+    String formatDate(int style, Date value, TimeZone zone);
+
+    String formatDate(String pattern, Date value);
+
     String formatRelativeDate(Date reference, Date duration);
 
     String formatRelativeDate(Date reference, Date duration, long precision);
 
+    String formatRelativeDate(long reference, long then);
+
     DecimalFormat getCurrencyFormat();
 
     DateFormat getDateFormat(int style);
@@ -31,10 +46,32 @@ public interface StandardContext
 
     NumberFormat getNumberFormat();
 
+    OrdinalTable getOrdinalTable();
+
+    OxfordJoiner getOxfordJoiner();
+
     DecimalFormat getPercentFormat();
 
+    MessageFormat getPluralizeFormat(String template);
+
+    MessageFormat getPluralizeFormat(String pattern, String... choices);
+
     PrettyTimeFormat getPrettyTimeFormat();
 
+    Collator getPrimaryCollator();
+
+    RelativeTimeFormatter getRelativeTimeFormatter();
+
+    SharedDateFormat getSharedDateFormat(String pattern);
+
+    SmartDateParser getSmartDateParser(String separator, String... formats);
+
+    List<String> getTimeSuffixes();
+
+    java.text.MessageFormat getTimesFormat();
+
+    BreakIterator getWordBreakIterator();
+
     String ordinalSuffix(int index);
 
     String timeSuffix(int index);
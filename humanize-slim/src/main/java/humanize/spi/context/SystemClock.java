@@ -0,0 +1,18 @@
+package humanize.spi.context;
+
+/**
+ * Default implementation of {@link Clock}. Reads the system clock.
+ * 
+ */
+public class SystemClock implements Clock
+{
+
+    @Override
+    public long millis()
+    {
+
+        return System.currentTimeMillis();
+
+    }
+
+}
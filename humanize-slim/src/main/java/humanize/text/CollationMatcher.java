@@ -0,0 +1,173 @@
+package humanize.text;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * <p>
+ * Locale-sensitive matching of one query string against many candidates. The
+ * collation keys of the candidates are computed once, so every match is a
+ * plain byte array comparison instead of a full collation.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * <h5>Examples:</h5>
+ *
+ * <pre>
+ * CollationMatcher matcher = new CollationMatcher(Arrays.asList(&quot;Ärger&quot;, &quot;Öl&quot;, &quot;Über&quot;), Locale.GERMAN);
+ *
+ * matcher.indexOf(&quot;uber&quot;); // == 2
+ * matcher.matches(&quot;OL&quot;); // == [&quot;Öl&quot;]
+ * </pre>
+ *
+ * @see humanize.Humanize#lossyEquals(String, String)
+ */
+public class CollationMatcher
+{
+
+    private final Collator collator;
+
+    private final List<String> candidates;
+
+    private final byte[][] keys;
+
+    /**
+     * Creates a matcher for primary differences only in the given locale.
+     *
+     * @param candidates
+     *            The strings to be matched
+     * @param locale
+     *            Target locale
+     */
+    public CollationMatcher(Collection<String> candidates, Locale locale)
+    {
+
+        this(candidates, primaryCollator(locale));
+
+    }
+
+    /**
+     * Creates a matcher that compares according to the given collator.
+     *
+     * @param candidates
+     *            The strings to be matched
+     * @param collator
+     *            The collator that generates the keys
+     */
+    public CollationMatcher(Collection<String> candidates, Collator collator)
+    {
+
+        Preconditions.checkNotNull(candidates);
+        Preconditions.checkNotNull(collator);
+
+        this.collator = (Collator) collator.clone();
+        this.candidates = ImmutableList.copyOf(candidates);
+        this.keys = new byte[this.candidates.size()][];
+
+        for (int i = 0; i < keys.length; i++)
+        {
+            keys[i] = this.collator.getCollationKey(this.candidates.get(i)).toByteArray();
+        }
+
+    }
+
+    private static Collator primaryCollator(Locale locale)
+    {
+
+        Collator collator = Collator.getInstance(locale);
+        collator.setStrength(Collator.PRIMARY);
+        return collator;
+
+    }
+
+    /**
+     * @param query
+     *            The string to be matched
+     * @return true if any candidate matches the query, false otherwise
+     */
+    public boolean contains(String query)
+    {
+
+        return indexOf(query) > -1;
+
+    }
+
+    public List<String> getCandidates()
+    {
+
+        return candidates;
+
+    }
+
+    /**
+     * @param query
+     *            The string to be matched
+     * @return the index of the first candidate that matches the query or -1
+     *         if there is no match
+     */
+    public int indexOf(String query)
+    {
+
+        byte[] key = keyOf(query);
+
+        for (int i = 0; i < keys.length; i++)
+        {
+            if (Arrays.equals(key, keys[i]))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+
+    }
+
+    /**
+     * @param query
+     *            The string to be matched
+     * @return all the candidates that match the query, in candidates order
+     */
+    public List<String> matches(String query)
+    {
+
+        byte[] key = keyOf(query);
+        List<String> result = null;
+
+        for (int i = 0; i < keys.length; i++)
+        {
+            if (Arrays.equals(key, keys[i]))
+            {
+                if (result == null)
+                {
+                    result = new ArrayList<String>();
+                }
+                result.add(candidates.get(i));
+            }
+        }
+
+        return result == null ? Collections.<String> emptyList() : result;
+
+    }
+
+    private byte[] keyOf(String query)
+    {
+
+        synchronized (collator)
+        {
+            return collator.getCollationKey(query).toByteArray();
+        }
+
+    }
+
+}
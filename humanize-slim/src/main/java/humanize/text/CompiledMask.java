@@ -0,0 +1,478 @@
+package humanize.text;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * <p>
+ * Immutable and thread-safe form of a {@link MaskFormat} mask. The mask is
+ * analyzed once into literal runs and message slots, so formatting and parsing
+ * are straight copies into a pre-sized buffer.
+ * </p>
+ *
+ * <p>
+ * Compiled masks are cached by mask and placeholder, use
+ * {@link #compile(String)} to share them.
+ * </p>
+ *
+ * <pre>
+ * CompiledMask mask = CompiledMask.compile(&quot;_# __ _____#-_&quot;);
+ *
+ * mask.format(&quot;A/5881850 1&quot;); // == &quot;A 58 81850-1&quot;
+ * </pre>
+ *
+ * @see MaskFormat
+ */
+public final class CompiledMask
+{
+
+    static final char DEFAULT_PLACEHOLDER = '_';
+
+    private static final char DELETEHOLDER = '#';
+
+    private static final char ESCAPE = '\\';
+
+    private static final byte LITERAL = 0;
+
+    private static final byte PLACEHOLDER = 1;
+
+    private static final byte ANY = 2;
+
+    private static final int MAX_CACHED_MASKS = 1024;
+
+    private static final Cache<String, CompiledMask> cache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_MASKS)
+            .build();
+
+    /**
+     * Gets the compiled mask for the given mask with the default placeholder
+     * '_'.
+     *
+     * @param mask
+     *            The pattern mask
+     * @return a shared compiled mask
+     */
+    public static CompiledMask compile(String mask)
+    {
+
+        return compile(mask, DEFAULT_PLACEHOLDER);
+
+    }
+
+    /**
+     * Gets the compiled mask for the given mask and placeholder.
+     *
+     * @param mask
+     *            The pattern mask
+     * @param placeholder
+     *            The placeholder character
+     * @return a shared compiled mask
+     */
+    public static CompiledMask compile(final String mask, final char placeholder)
+    {
+
+        Preconditions.checkNotNull(mask, "The mask is required");
+
+        try
+        {
+            return cache.get(placeholder + mask, new Callable<CompiledMask>()
+            {
+                @Override
+                public CompiledMask call() throws Exception
+                {
+                    return new CompiledMask(mask, placeholder);
+                }
+            });
+        } catch (ExecutionException e)
+        {
+            throw new RuntimeException(e.getCause());
+        }
+
+    }
+
+    private final String mask;
+
+    private final char placeholder;
+
+    // -- formatting
+
+    /** Literal runs with escapes resolved, concatenated */
+    private final char[] literals;
+
+    /** End offset in literals of the run preceding each slot */
+    private final int[] literalEnds;
+
+    /** Whether each slot keeps (placeholder) or skips (deleteholder) a char */
+    private final boolean[] keeps;
+
+    /** Number of kept chars up to each slot, inclusive */
+    private final int[] keptCounts;
+
+    /** Offset in the raw mask of the tail that follows each slot */
+    private final int[] tailOffsets;
+
+    private final char[] raw;
+
+    // -- parsing
+
+    private final byte[] kinds;
+
+    /** Number of placeholders before each mask position */
+    private final int[] placeholderCounts;
+
+    public CompiledMask(String mask)
+    {
+
+        this(mask, DEFAULT_PLACEHOLDER);
+
+    }
+
+    public CompiledMask(String mask, char placeholder)
+    {
+
+        Preconditions.checkNotNull(mask, "The mask is required");
+
+        this.mask = mask;
+        this.placeholder = placeholder;
+        this.raw = mask.toCharArray();
+
+        int len = raw.length;
+        int slots = 0;
+
+        for (int i = 0; i < len; i++)
+        {
+            char c = raw[i];
+
+            if (c == placeholder || c == DELETEHOLDER)
+            {
+                slots++;
+            } else if (c == ESCAPE)
+            {
+                i++;
+            }
+        }
+
+        StringBuilder lits = new StringBuilder(len);
+        this.literalEnds = new int[slots];
+        this.keeps = new boolean[slots];
+        this.keptCounts = new int[slots];
+        this.tailOffsets = new int[slots];
+
+        int slot = 0;
+        int kept = 0;
+
+        for (int i = 0; i < len; i++)
+        {
+            char c = raw[i];
+
+            if (c == placeholder || c == DELETEHOLDER)
+            {
+                boolean keep = c == placeholder;
+                kept += keep ? 1 : 0;
+                literalEnds[slot] = lits.length();
+                keeps[slot] = keep;
+                keptCounts[slot] = kept;
+                tailOffsets[slot] = i + 1;
+                slot++;
+            } else if (c == ESCAPE)
+            {
+                Preconditions.checkArgument(i + 1 < len, "Mask '%s' ends with an escape character", mask);
+                lits.append(raw[++i]);
+            } else
+            {
+                lits.append(c);
+            }
+        }
+
+        this.literals = lits.toString().toCharArray();
+
+        this.kinds = new byte[len];
+        this.placeholderCounts = new int[len + 1];
+
+        for (int i = 0; i < len; i++)
+        {
+            char c = raw[i];
+            kinds[i] = c == placeholder ? PLACEHOLDER : (c == ESCAPE ? ANY : LITERAL);
+            placeholderCounts[i + 1] = placeholderCounts[i] + (kinds[i] == PLACEHOLDER ? 1 : 0);
+        }
+
+    }
+
+    /**
+     * Formats the given text with this mask.
+     *
+     * @param str
+     *            The text to be masked
+     * @return The formatted text
+     */
+    public String format(String str)
+    {
+
+        if (raw.length == 0 || str == null || str.length() == 0)
+        {
+            return str;
+        }
+
+        int n = str.length();
+        int slots = keeps.length;
+        boolean truncated = n <= slots;
+        int last = truncated ? n : slots;
+        char[] out = new char[formattedLength(n)];
+        int o = 0;
+        int p = 0;
+
+        for (int k = 0; k < last; k++)
+        {
+            int end = literalEnds[k];
+            System.arraycopy(literals, p, out, o, end - p);
+            o += end - p;
+            p = end;
+
+            if (keeps[k])
+            {
+                out[o++] = str.charAt(k);
+            }
+        }
+
+        if (truncated)
+        {
+            // message exhausted, the rest of the mask is appended as is
+            int tail = tailOffsets[n - 1];
+            System.arraycopy(raw, tail, out, o, raw.length - tail);
+        } else
+        {
+            System.arraycopy(literals, p, out, o, literals.length - p);
+        }
+
+        return new String(out);
+
+    }
+
+    /**
+     * Formats the given text with this mask, appending the result to the given
+     * buffer so it can be reused between calls.
+     *
+     * @param str
+     *            The text to be masked, null appends nothing
+     * @param out
+     *            The buffer the formatted text is appended to
+     * @return the given buffer
+     */
+    public StringBuilder formatTo(CharSequence str, StringBuilder out)
+    {
+
+        if (str == null)
+        {
+            return out;
+        }
+
+        if (raw.length == 0 || str.length() == 0)
+        {
+            return out.append(str);
+        }
+
+        int n = str.length();
+        int slots = keeps.length;
+        boolean truncated = n <= slots;
+        int last = truncated ? n : slots;
+        int p = 0;
+
+        out.ensureCapacity(out.length() + formattedLength(n));
+
+        for (int k = 0; k < last; k++)
+        {
+            int end = literalEnds[k];
+            out.append(literals, p, end - p);
+            p = end;
+
+            if (keeps[k])
+            {
+                out.append(str.charAt(k));
+            }
+        }
+
+        if (truncated)
+        {
+            int tail = tailOffsets[n - 1];
+            out.append(raw, tail, raw.length - tail);
+        } else
+        {
+            out.append(literals, p, literals.length - p);
+        }
+
+        return out;
+
+    }
+
+    public String getMask()
+    {
+
+        return mask;
+
+    }
+
+    public char getPlaceholder()
+    {
+
+        return placeholder;
+
+    }
+
+    /**
+     * Parses the given text with this mask.
+     *
+     * @param source
+     *            The text to be parsed
+     * @return The parsed text
+     * @throws ParseException
+     *             if the source does not match the mask
+     */
+    public String parse(String source) throws ParseException
+    {
+
+        ParsePosition pos = new ParsePosition(0);
+        String result = parse(source, pos);
+
+        if (pos.getErrorIndex() > -1)
+        {
+            throw new ParseException(String.format("Error parsing String: '%s' at %d", source, pos.getErrorIndex()),
+                    pos.getErrorIndex());
+        }
+
+        return result;
+
+    }
+
+    /**
+     * Parses the given text with this mask without throwing exceptions.
+     *
+     * @param source
+     *            The text to be parsed
+     * @param pos
+     *            On error, the error index is set to the offset of the first
+     *            mismatch
+     * @return The parsed text or null if the source does not match the mask
+     */
+    public String parse(String source, ParsePosition pos)
+    {
+
+        if (raw.length == 0 || source == null || source.length() == 0)
+        {
+            return source;
+        }
+
+        int len = Math.min(raw.length, source.length());
+        int error = mismatch(source, len);
+
+        if (error > -1)
+        {
+            pos.setErrorIndex(error);
+            return null;
+        }
+
+        char[] out = new char[placeholderCounts[len]];
+        int o = 0;
+
+        for (int i = 0; i < len; i++)
+        {
+            if (kinds[i] == PLACEHOLDER)
+            {
+                out[o++] = source.charAt(i);
+            }
+        }
+
+        pos.setIndex(len);
+        return new String(out);
+
+    }
+
+    /**
+     * Parses the given text with this mask, appending the result to the given
+     * buffer. Nothing is appended if the text does not match the mask.
+     *
+     * @param source
+     *            The text to be parsed, null appends nothing
+     * @param out
+     *            The buffer the parsed text is appended to
+     * @return -1 on success or the offset of the first mismatch
+     */
+    public int parseTo(CharSequence source, StringBuilder out)
+    {
+
+        if (source == null)
+        {
+            return -1;
+        }
+
+        if (raw.length == 0 || source.length() == 0)
+        {
+            out.append(source);
+            return -1;
+        }
+
+        int len = Math.min(raw.length, source.length());
+        int error = mismatch(source, len);
+
+        if (error > -1)
+        {
+            return error;
+        }
+
+        out.ensureCapacity(out.length() + placeholderCounts[len]);
+
+        for (int i = 0; i < len; i++)
+        {
+            if (kinds[i] == PLACEHOLDER)
+            {
+                out.append(source.charAt(i));
+            }
+        }
+
+        return -1;
+
+    }
+
+    @Override
+    public String toString()
+    {
+
+        return mask;
+
+    }
+
+    private int formattedLength(int n)
+    {
+
+        int slots = keeps.length;
+
+        if (n <= slots)
+        {
+            return literalEnds[n - 1] + keptCounts[n - 1] + raw.length - tailOffsets[n - 1];
+        }
+
+        return literals.length + (slots == 0 ? 0 : keptCounts[slots - 1]);
+
+    }
+
+    private int mismatch(CharSequence source, int len)
+    {
+
+        for (int i = 0; i < len; i++)
+        {
+            if (kinds[i] == LITERAL && raw[i] != source.charAt(i))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package humanize.text;
+
+/**
+ * <p>
+ * Receives the outcome of the bulk operations of {@link MaskFormat}. Values
+ * are handed over in reused buffers, so they are only valid during the call
+ * and must be copied (e.g. with toString()) if retained.
+ * </p>
+ *
+ * <p>
+ * When the bulk operation runs on an executor the callback is invoked
+ * concurrently from several threads.
+ * </p>
+ *
+ */
+public interface MaskCallback
+{
+
+    /**
+     * Called when a value fails to parse.
+     *
+     * @param index
+     *            The position of the value within the input
+     * @param source
+     *            The value that failed
+     * @param errorIndex
+     *            The offset of the first mismatch with the mask
+     */
+    void onError(int index, CharSequence source, int errorIndex);
+
+    /**
+     * Called for every value successfully formatted or parsed.
+     *
+     * @param index
+     *            The position of the value within the input
+     * @param source
+     *            The original value
+     * @param result
+     *            The formatted or parsed value, null if the source was null
+     */
+    void onResult(int index, CharSequence source, CharSequence result);
+
+}
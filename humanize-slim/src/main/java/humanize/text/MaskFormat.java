@@ -2,11 +2,23 @@ package humanize.text;
 
 import humanize.spi.FormatProvider;
 
+import java.math.RoundingMode;
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParseException;
 import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.math.IntMath;
 
 /**
  * <p>
@@ -43,6 +55,12 @@ import java.util.Locale;
  * </tr>
  * </table>
  * 
+ * <p>
+ * Large amounts of values can be processed with {@link #formatAll} and
+ * {@link #parseAll}, which report mismatches to a {@link MaskCallback}
+ * instead of throwing exceptions and reuse a single buffer per thread.
+ * </p>
+ * 
  */
 public class MaskFormat extends Format implements FormatProvider
 {
@@ -51,6 +69,14 @@ public class MaskFormat extends Format implements FormatProvider
 
     private static final char DEFAULT_PLACEHOLDER = '_';
 
+    private static final int INITIAL_BUFFER_SIZE = 64;
+
+    /** Minimum number of values handed to each task */
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    /** Tasks per available processor, to even out uneven chunks */
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
     public static FormatFactory factory()
     {
 
@@ -77,7 +103,12 @@ public class MaskFormat extends Format implements FormatProvider
     public static String format(String mask, String str, char placeholder)
     {
 
-        return new MaskFormat(mask, placeholder).format(str);
+        if (isEmptyInput(mask, str))
+        {
+            return str;
+        }
+
+        return CompiledMask.compile(mask, placeholder).format(str);
 
     }
 
@@ -91,7 +122,58 @@ public class MaskFormat extends Format implements FormatProvider
     public static String parse(String mask, String source, char placeholder) throws ParseException
     {
 
-        return new MaskFormat(mask, placeholder).parse(source);
+        if (isEmptyInput(mask, source))
+        {
+            return source;
+        }
+
+        return CompiledMask.compile(mask, placeholder).parse(source);
+
+    }
+
+    private static boolean isEmptyInput(String mask, String str)
+    {
+
+        return (mask == null || mask.length() == 0 || str == null || str.length() == 0);
+
+    }
+
+    private static int process(CompiledMask mask, Iterable<? extends CharSequence> values, int offset,
+            MaskCallback callback, boolean parse)
+    {
+
+        StringBuilder buffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+        int index = offset;
+        int errors = 0;
+
+        for (CharSequence value : values)
+        {
+            buffer.setLength(0);
+
+            if (value == null)
+            {
+                callback.onResult(index, null, null);
+            } else if (!parse)
+            {
+                callback.onResult(index, value, mask.formatTo(value, buffer));
+            } else
+            {
+                int error = mask.parseTo(value, buffer);
+
+                if (error > -1)
+                {
+                    errors++;
+                    callback.onError(index, value, error);
+                } else
+                {
+                    callback.onResult(index, value, buffer);
+                }
+            }
+
+            index++;
+        }
+
+        return errors;
 
     }
 
@@ -99,6 +181,8 @@ public class MaskFormat extends Format implements FormatProvider
 
     private char placeholder;
 
+    private transient CompiledMask compiled;
+
     public MaskFormat()
     {
 
@@ -145,43 +229,45 @@ public class MaskFormat extends Format implements FormatProvider
             return str;
         }
 
-        StringBuilder result = new StringBuilder();
-
-        int msgIndex = 0;
-        char maskChar;
-        boolean isPlaceHolder;
+        return compiled().format(str);
 
-        int i = 0;
-        for (; i < mask.length(); i++)
-        {
+    }
 
-            maskChar = mask.charAt(i);
-            isPlaceHolder = isPlaceholder(maskChar);
+    /**
+     * Formats every value, handing the results to the given callback in
+     * order.
+     *
+     * @param values
+     *            The values to be masked
+     * @param callback
+     *            Receives the formatted values
+     */
+    public void formatAll(Iterable<? extends CharSequence> values, MaskCallback callback)
+    {
 
-            if (!(isPlaceHolder || isDeleteholder(maskChar)))
-            {
-                result.append(isEscapeChar(maskChar) ? mask.charAt(++i) : maskChar);
-            } else
-            {
-                if (isPlaceHolder)
-                {
-                    result.append(str.charAt(msgIndex));
-                }
-                if (++msgIndex == str.length())
-                {
-                    break;
-                }
-            }
+        process(compiled(), values, 0, callback, false);
 
-        }
+    }
 
-        // Append tail
-        while (++i < mask.length())
-        {
-            result.append(mask.charAt(i));
-        }
+    /**
+     * Formats every value splitting the work in chunks that run on the given
+     * executor. The callback is invoked concurrently and in no particular
+     * order.
+     *
+     * @param values
+     *            The values to be masked
+     * @param callback
+     *            Thread-safe callback that receives the formatted values
+     * @param executor
+     *            The executor that runs the chunks
+     * @throws InterruptedException
+     *             if interrupted while waiting for the chunks
+     */
+    public void formatAll(List<? extends CharSequence> values, MaskCallback callback, ExecutorService executor)
+            throws InterruptedException
+    {
 
-        return result.toString();
+        processAll(values, callback, executor, false);
 
     }
 
@@ -228,23 +314,48 @@ public class MaskFormat extends Format implements FormatProvider
             return source;
         }
 
-        StringBuilder sb = new StringBuilder(mask.length());
+        return compiled().parse(source);
 
-        for (int i = 0; i < mask.length() && i < source.length(); i++)
-        {
+    }
 
-            char maskChar = mask.charAt(i);
-            if (isPlaceholder(maskChar))
-            {
-                sb.append(source.charAt(i));
-            } else if (!isEscapeChar(maskChar) && maskChar != source.charAt(i))
-            {
-                throw new ParseException(String.format("Error parsing String: '%s' at %d", source, i), i);
-            }
+    /**
+     * Parses every value, handing the results and mismatches to the given
+     * callback in order. No exceptions are created for mismatched values.
+     *
+     * @param sources
+     *            The values to be parsed
+     * @param callback
+     *            Receives the parsed values and the mismatches
+     * @return the number of values that did not match the mask
+     */
+    public int parseAll(Iterable<? extends CharSequence> sources, MaskCallback callback)
+    {
 
-        }
+        return process(compiled(), sources, 0, callback, true);
+
+    }
+
+    /**
+     * Parses every value splitting the work in chunks that run on the given
+     * executor. The callback is invoked concurrently and in no particular
+     * order.
+     *
+     * @param sources
+     *            The values to be parsed
+     * @param callback
+     *            Thread-safe callback that receives the parsed values and the
+     *            mismatches
+     * @param executor
+     *            The executor that runs the chunks
+     * @return the number of values that did not match the mask
+     * @throws InterruptedException
+     *             if interrupted while waiting for the chunks
+     */
+    public int parseAll(List<? extends CharSequence> sources, MaskCallback callback, ExecutorService executor)
+            throws InterruptedException
+    {
 
-        return sb.toString();
+        return processAll(sources, callback, executor, true);
 
     }
 
@@ -290,6 +401,7 @@ public class MaskFormat extends Format implements FormatProvider
     {
 
         this.mask = mask;
+        this.compiled = null;
 
     }
 
@@ -297,33 +409,65 @@ public class MaskFormat extends Format implements FormatProvider
     {
 
         this.placeholder = placeholder;
+        this.compiled = null;
     }
 
-    private boolean isDeleteholder(char c)
+    private CompiledMask compiled()
     {
 
-        return c == '#';
+        CompiledMask c = compiled;
+
+        if (c == null)
+        {
+            c = CompiledMask.compile(Strings.nullToEmpty(mask), placeholder);
+            compiled = c;
+        }
+
+        return c;
 
     }
 
-    private boolean isEmptyInput(String mask, String str)
+    private int processAll(List<? extends CharSequence> values, final MaskCallback callback,
+            ExecutorService executor, final boolean parse) throws InterruptedException
     {
 
-        return (mask == null || mask.length() == 0 || str == null || str.length() == 0);
+        final CompiledMask mask = compiled();
+        int chunks = Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR;
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, IntMath.divide(values.size(), chunks, RoundingMode.CEILING));
 
-    }
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        int offset = 0;
 
-    private boolean isEscapeChar(char c)
-    {
+        for (final List<? extends CharSequence> chunk : Lists.partition(values, chunkSize))
+        {
+            final int start = offset;
 
-        return c == '\\';
+            tasks.add(new Callable<Integer>()
+            {
+                @Override
+                public Integer call() throws Exception
+                {
+                    return process(mask, chunk, start, callback, parse);
+                }
+            });
 
-    }
+            offset += chunk.size();
+        }
 
-    private boolean isPlaceholder(char c)
-    {
+        int errors = 0;
+
+        for (Future<Integer> result : executor.invokeAll(tasks))
+        {
+            try
+            {
+                errors += result.get();
+            } catch (ExecutionException e)
+            {
+                throw Throwables.propagate(e.getCause());
+            }
+        }
 
-        return c == this.placeholder;
+        return errors;
 
     }
 
@@ -0,0 +1,118 @@
+package humanize.text;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>
+ * Precomputed ordinal suffixes for the last two digits of a number, e.g.
+ * 1st, 2nd, 11th, 21st. Numbers are written as plain ASCII digits followed by
+ * the suffix, without going through {@link String#format(String, Object...)}.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ */
+public final class OrdinalTable
+{
+
+    private static final int SIZE = 100;
+
+    private final String[] table;
+
+    /**
+     * Creates a table from the suffixes by last digit. Teens (11, 12 and 13)
+     * take the suffix of 0, as do the digits without a suffix of their own.
+     *
+     * @param suffixes
+     *            Suffixes indexed by the last digit of the number
+     */
+    public OrdinalTable(String... suffixes)
+    {
+
+        Preconditions.checkArgument(suffixes.length > 0, "At least one suffix is required");
+
+        this.table = new String[SIZE];
+
+        for (int i = 0; i < SIZE; i++)
+        {
+            int digit = i % 10;
+            boolean teen = i > 10 && i < 14;
+            table[i] = (teen || digit >= suffixes.length) ? suffixes[0] : suffixes[digit];
+        }
+
+    }
+
+    /**
+     * Converts a number to its ordinal as a string.
+     *
+     * @param value
+     *            The number to convert
+     * @return String representing the number as ordinal
+     */
+    public String format(long value)
+    {
+
+        String suffix = suffix(value);
+        int sign = value < 0 ? 1 : 0;
+
+        // negative magnitude so that Long.MIN_VALUE does not overflow
+        long q = value < 0 ? value : -value;
+        int digits = 1;
+
+        for (long t = q; t <= -10; t /= 10)
+        {
+            digits++;
+        }
+
+        int end = sign + digits;
+        char[] buf = new char[end + suffix.length()];
+        suffix.getChars(0, suffix.length(), buf, end);
+
+        do
+        {
+            buf[--end] = (char) ('0' - (q % 10));
+            q /= 10;
+        } while (q != 0);
+
+        if (sign == 1)
+        {
+            buf[0] = '-';
+        }
+
+        return new String(buf);
+
+    }
+
+    /**
+     * Appends the ordinal of the given number to the builder.
+     *
+     * @param value
+     *            The number to convert
+     * @param builder
+     *            The target
+     * @return the given builder
+     */
+    public StringBuilder formatTo(long value, StringBuilder builder)
+    {
+
+        return builder.append(value).append(suffix(value));
+
+    }
+
+    /**
+     * Gets the ordinal suffix of the given number.
+     *
+     * @param value
+     *            The number
+     * @return the suffix for the number
+     */
+    public String suffix(long value)
+    {
+
+        return table[(int) Math.abs(value % SIZE)];
+
+    }
+
+}
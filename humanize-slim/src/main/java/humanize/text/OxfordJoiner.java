@@ -0,0 +1,456 @@
+package humanize.text;
+
+import humanize.spi.MessageFormat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.Iterators;
+import com.google.common.primitives.Ints;
+
+/**
+ * <p>
+ * Locale-bound joiner that converts a list of items to a human readable
+ * string, e.g. "Oranges, Pears, and Bananas". The oxford patterns are parsed
+ * once at construction, so instances are meant to be reused.
+ * </p>
+ *
+ * <p>
+ * Items are streamed from the iterable into the target without copying them
+ * to an array. With a limit, items past the limit are not converted to
+ * strings and, for collections, not even iterated.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * <pre>
+ * OxfordJoiner joiner = Humanize.oxfordJoiner().limit(3);
+ *
+ * joiner.join(fruits); // == &quot;Oranges, Pears, Bananas, and 2 others&quot;
+ * </pre>
+ *
+ */
+public final class OxfordJoiner
+{
+
+    private static final String SEPARATOR = ", ";
+
+    private static final Object END = new Object();
+
+    private final Locale locale;
+
+    private final Template pattern;
+
+    private final Template pairPattern;
+
+    private final Template extraPattern;
+
+    private final int limit;
+
+    /**
+     * Creates an unbounded joiner.
+     *
+     * @param locale
+     *            Target locale
+     * @param pattern
+     *            Pattern for three or more items, with the leading items as
+     *            {0} and the last one (or the extra items) as {1}
+     * @param pairPattern
+     *            Pattern for two items
+     * @param extraPattern
+     *            Pattern for the number of items beyond the limit
+     */
+    public OxfordJoiner(Locale locale, String pattern, String pairPattern, String extraPattern)
+    {
+
+        this(locale, Template.compile(pattern, locale), Template.compile(pairPattern, locale), Template.compile(
+                extraPattern, locale), -1);
+
+    }
+
+    private OxfordJoiner(Locale locale, Template pattern, Template pairPattern, Template extraPattern, int limit)
+    {
+
+        this.locale = Preconditions.checkNotNull(locale);
+        this.pattern = pattern;
+        this.pairPattern = pairPattern;
+        this.extraPattern = extraPattern;
+        this.limit = limit;
+
+    }
+
+    /**
+     * Appends the human readable representation of the given items.
+     *
+     * @param appendable
+     *            The target
+     * @param items
+     *            The items, null for none
+     * @return the given appendable
+     * @throws IOException
+     *             if the appendable fails
+     */
+    public <A extends Appendable> A appendTo(A appendable, Iterable<?> items) throws IOException
+    {
+
+        if (items == null)
+        {
+            return appendable;
+        }
+
+        Iterator<?> it = items.iterator();
+
+        if (!it.hasNext())
+        {
+            return appendable;
+        }
+
+        Object first = it.next();
+
+        if (!it.hasNext())
+        {
+            appendable.append(first.toString());
+            return appendable;
+        }
+
+        Object second = it.next();
+
+        if (!it.hasNext())
+        {
+            pairPattern.appendTo(appendable, first, second);
+            return appendable;
+        }
+
+        boolean streamed = pattern.isSequential(2);
+        Appendable head = streamed ? appendable : new StringBuilder();
+
+        if (streamed)
+        {
+            appendable.append(pattern.literal(0));
+        }
+
+        Object current = first;
+        Object next = second;
+        int joined = 0;
+        boolean separate = false;
+
+        // "current" always has a successor while looping, so the last item is
+        // never part of the joined head
+        while (next != END && (limit <= 0 || joined < limit))
+        {
+            if (current != null)
+            {
+                if (separate)
+                {
+                    head.append(SEPARATOR);
+                }
+
+                head.append(current.toString());
+                separate = true;
+            }
+
+            joined++;
+            current = next;
+            next = it.hasNext() ? it.next() : END;
+        }
+
+        String tail;
+
+        if (next == END)
+        {
+            tail = current.toString();
+        } else
+        {
+            int extra = (items instanceof Collection) ? ((Collection<?>) items).size() - joined : Ints
+                    .saturatedCast(2L + Iterators.size(it));
+            tail = extraPattern.format(extra);
+        }
+
+        if (streamed)
+        {
+            appendable.append(pattern.literal(1)).append(tail).append(pattern.literal(2));
+        } else
+        {
+            pattern.appendTo(appendable, head.toString(), tail);
+        }
+
+        return appendable;
+
+    }
+
+    /**
+     * Appends the human readable representation of the given items.
+     *
+     * @param builder
+     *            The target
+     * @param items
+     *            The items, null for none
+     * @return the given builder
+     */
+    public StringBuilder appendTo(StringBuilder builder, Iterable<?> items)
+    {
+
+        try
+        {
+            appendTo((Appendable) builder, items);
+        } catch (IOException e)
+        {
+            throw new AssertionError(e);
+        }
+
+        return builder;
+
+    }
+
+    public int getLimit()
+    {
+
+        return limit;
+
+    }
+
+    public Locale getLocale()
+    {
+
+        return locale;
+
+    }
+
+    /**
+     * Returns the human readable representation of the given items.
+     *
+     * @param items
+     *            The items, null for none
+     * @return human readable representation of a bounded list of items
+     */
+    public String join(Iterable<?> items)
+    {
+
+        return appendTo(new StringBuilder(), items).toString();
+
+    }
+
+    /**
+     * Returns the human readable representation of the given items.
+     *
+     * @param items
+     *            The items, null for none
+     * @return human readable representation of a bounded list of items
+     */
+    public String join(Object[] items)
+    {
+
+        return items == null ? "" : join(Arrays.asList(items));
+
+    }
+
+    /**
+     * Returns a joiner that prints up to the given number of items, followed
+     * by the default count of the extra items.
+     *
+     * @param limit
+     *            The number of items to print. -1 for unbounded.
+     * @return a joiner with the given limit
+     */
+    public OxfordJoiner limit(int limit)
+    {
+
+        return limit(limit, null);
+
+    }
+
+    /**
+     * Returns a joiner that prints up to the given number of items, followed
+     * by the count of the extra items.
+     *
+     * @param limit
+     *            The number of items to print. -1 for unbounded.
+     * @param limitStr
+     *            The pattern for the number of extra items. Null or "" for
+     *            default.
+     * @return a joiner with the given limit
+     */
+    public OxfordJoiner limit(int limit, String limitStr)
+    {
+
+        Template extra = Strings.isNullOrEmpty(limitStr) ? extraPattern : Template.compile(limitStr, locale);
+
+        if (limit == this.limit && extra == extraPattern)
+        {
+            return this;
+        }
+
+        return new OxfordJoiner(locale, pattern, pairPattern, extra, limit);
+
+    }
+
+    /**
+     * Message pattern split into literals and plain arguments. Patterns with
+     * formatted arguments, or arguments that are not text, are rendered with
+     * a {@link MessageFormat}.
+     */
+    private static final class Template
+    {
+
+        static Template compile(String pattern, Locale locale)
+        {
+
+            Preconditions.checkNotNull(pattern, "The pattern is required");
+
+            List<String> literals = new ArrayList<String>();
+            List<Integer> args = new ArrayList<Integer>();
+            StringBuilder literal = new StringBuilder();
+            boolean simple = true;
+            int len = pattern.length();
+
+            for (int i = 0; i < len && simple; i++)
+            {
+                char c = pattern.charAt(i);
+
+                if (c == '\'')
+                {
+                    int end = pattern.indexOf('\'', i + 1);
+
+                    if (end == i + 1)
+                    {
+                        literal.append('\'');
+                    } else if (end < 0 || (end + 1 < len && pattern.charAt(end + 1) == '\''))
+                    {
+                        simple = false;
+                    } else
+                    {
+                        literal.append(pattern, i + 1, end);
+                    }
+
+                    i = Math.max(i, end);
+                } else if (c == '{')
+                {
+                    int end = pattern.indexOf('}', i);
+                    Integer arg = end < 0 ? null : Ints.tryParse(pattern.substring(i + 1, end).trim());
+
+                    if (arg == null || arg < 0)
+                    {
+                        simple = false;
+                    } else
+                    {
+                        literals.add(literal.toString());
+                        literal.setLength(0);
+                        args.add(arg);
+                        i = end;
+                    }
+                } else
+                {
+                    literal.append(c);
+                }
+            }
+
+            literals.add(literal.toString());
+
+            return new Template(new MessageFormat(pattern, locale), simple ? literals.toArray(new String[0])
+                    : null, simple ? Ints.toArray(args) : null);
+
+        }
+
+        private final MessageFormat format;
+
+        private final String[] literals;
+
+        private final int[] args;
+
+        private Template(MessageFormat format, String[] literals, int[] args)
+        {
+
+            this.format = format;
+            this.literals = literals;
+            this.args = args;
+
+        }
+
+        void appendTo(Appendable appendable, Object... values) throws IOException
+        {
+
+            if (!isPlain(values))
+            {
+                appendable.append(format(values));
+                return;
+            }
+
+            for (int i = 0; i < args.length; i++)
+            {
+                appendable.append(literals[i]);
+                appendable.append((CharSequence) values[args[i]]);
+            }
+
+            appendable.append(literals[args.length]);
+
+        }
+
+        String format(Object... values)
+        {
+
+            synchronized (format)
+            {
+                return format.render(values);
+            }
+
+        }
+
+        boolean isSequential(int n)
+        {
+
+            if (args == null || args.length != n)
+            {
+                return false;
+            }
+
+            for (int i = 0; i < n; i++)
+            {
+                if (args[i] != i)
+                {
+                    return false;
+                }
+            }
+
+            return true;
+
+        }
+
+        String literal(int index)
+        {
+
+            return literals[index];
+
+        }
+
+        private boolean isPlain(Object[] values)
+        {
+
+            if (args == null)
+            {
+                return false;
+            }
+
+            for (int arg : args)
+            {
+                if (arg >= values.length || !(values[arg] instanceof CharSequence))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+
+        }
+
+    }
+
+}
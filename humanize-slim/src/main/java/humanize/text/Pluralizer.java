@@ -0,0 +1,160 @@
+package humanize.text;
+
+import humanize.util.Parameters.PluralizeParams;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>
+ * Pluralization compiled once from {@link PluralizeParams}. Picks the none,
+ * one or many format for a count the same way the ChoiceFormat of
+ * {@link humanize.Humanize#pluralize(Number, PluralizeParams)} does (below 1,
+ * below 2, the rest) and renders it with the count as {0} and the extension
+ * objects as {1}, {2}...
+ * </p>
+ *
+ * <p>
+ * Formats without arguments are returned as they are, the others are parsed
+ * once at construction. Instances are immutable and thread-safe.
+ * </p>
+ *
+ * <pre>
+ * Pluralizer files = new Pluralizer(PluralizeParams
+ *         .begin(&quot;There is one file on {1}.&quot;)
+ *         .many(&quot;There are {0} files on {1}.&quot;)
+ *         .none(&quot;There are no files on {1}.&quot;)
+ *         .exts(&quot;disk&quot;), Locale.ENGLISH);
+ *
+ * files.format(2); // == &quot;There are 2 files on disk.&quot;
+ * </pre>
+ *
+ */
+public final class Pluralizer
+{
+
+    private static final int NONE = 0;
+
+    private static final int ONE = 1;
+
+    private static final int MANY = 2;
+
+    private final Locale locale;
+
+    /** Choices without arguments, null where a format is needed */
+    private final String[] literals;
+
+    private final MessageFormat[] formats;
+
+    private final Object[] exts;
+
+    /**
+     * Compiles the given parameters. Later changes to the parameters do not
+     * affect this instance.
+     *
+     * @param params
+     *            The pluralization parameters
+     * @param locale
+     *            Target locale
+     */
+    public Pluralizer(PluralizeParams params, Locale locale)
+    {
+
+        Preconditions.checkNotNull(params.many, "Please, specify a format for many elements");
+        Preconditions.checkNotNull(params.one, "Please, specify a format for a single element");
+
+        this.locale = Preconditions.checkNotNull(locale);
+        this.literals = new String[3];
+        this.formats = new MessageFormat[3];
+        this.exts = params.exts == null ? new Object[0] : params.exts.clone();
+
+        compile(NONE, params.none == null ? params.many : params.none);
+        compile(ONE, params.one);
+        compile(MANY, params.many);
+
+    }
+
+    /**
+     * Applies the proper format for the given count, with the extension
+     * objects of the parameters.
+     *
+     * @param count
+     *            The number that triggers the plural state
+     * @return formatted text according the right plural state
+     */
+    public String format(Number count)
+    {
+
+        return format(count, exts);
+
+    }
+
+    /**
+     * Applies the proper format for the given count and extension objects.
+     *
+     * @param count
+     *            The number that triggers the plural state
+     * @param exts
+     *            Extension objects to be passed to the formatter
+     * @return formatted text according the right plural state
+     */
+    public String format(Number count, Object... exts)
+    {
+
+        int choice = choose(count.doubleValue());
+
+        if (literals[choice] != null)
+        {
+            return literals[choice];
+        }
+
+        Object[] args = new Object[exts.length + 1];
+        args[0] = count;
+        System.arraycopy(exts, 0, args, 1, exts.length);
+
+        MessageFormat format = formats[choice];
+
+        synchronized (format)
+        {
+            return format.format(args);
+        }
+
+    }
+
+    public Locale getLocale()
+    {
+
+        return locale;
+
+    }
+
+    private int choose(double count)
+    {
+
+        // negated comparisons so that NaN falls into none, as in ChoiceFormat
+        if (!(count >= 1))
+        {
+            return NONE;
+        }
+
+        return !(count >= 2) ? ONE : MANY;
+
+    }
+
+    private void compile(int choice, String pattern)
+    {
+
+        // same rule as MessageFormat applies to ChoiceFormat results
+        if (pattern.indexOf('{') < 0)
+        {
+            literals[choice] = pattern;
+        } else
+        {
+            formats[choice] = new MessageFormat(pattern, locale);
+        }
+
+    }
+
+}
@@ -0,0 +1,461 @@
+package humanize.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.text.BreakIterator;
+import java.util.Locale;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.CharSource;
+
+/**
+ * <p>
+ * Streaming word wrapping and truncation at word boundaries. Text is consumed
+ * in chunks cut at whitespace, so arbitrarily long inputs can be processed
+ * from a {@link Reader} to a {@link Writer} with bounded memory.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe: the given {@link BreakIterator} is
+ * kept as a prototype and cloned on every call.
+ * </p>
+ *
+ * <h5>Examples:</h5>
+ *
+ * <pre>
+ * WordWrapper ww = new WordWrapper(10, Locale.ENGLISH);
+ *
+ * ww.wrap(&quot;Lorem ipsum dolorem si amet&quot;);
+ * // == &quot;Lorem\nipsum\ndolorem si\namet&quot;
+ *
+ * ww.truncate(&quot;Lorem ipsum dolorem si amet&quot;);
+ * // == &quot;Lorem ipsum&quot;
+ * </pre>
+ *
+ */
+public class WordWrapper
+{
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final String DEFAULT_LINE_SEPARATOR = "\n";
+
+    private final int width;
+
+    private final BreakIterator prototype;
+
+    private final String lineSeparator;
+
+    public WordWrapper(int width)
+    {
+
+        this(width, Locale.getDefault());
+
+    }
+
+    public WordWrapper(int width, Locale locale)
+    {
+
+        this(width, BreakIterator.getWordInstance(locale));
+
+    }
+
+    public WordWrapper(int width, BreakIterator prototype)
+    {
+
+        this(width, prototype, DEFAULT_LINE_SEPARATOR);
+
+    }
+
+    public WordWrapper(int width, BreakIterator prototype, String lineSeparator)
+    {
+
+        Preconditions.checkArgument(width >= 0, "The width must be positive or zero.");
+        Preconditions.checkNotNull(prototype);
+        Preconditions.checkNotNull(lineSeparator);
+
+        this.width = width;
+        this.prototype = (BreakIterator) prototype.clone();
+        this.lineSeparator = lineSeparator;
+
+    }
+
+    public String getLineSeparator()
+    {
+
+        return lineSeparator;
+
+    }
+
+    public int getWidth()
+    {
+
+        return width;
+
+    }
+
+    /**
+     * <p>
+     * Truncates the given text to the closest word boundary after
+     * {@link #getWidth()} characters.
+     * </p>
+     *
+     * @param text
+     *            Text to be truncated
+     * @return the truncated text
+     */
+    public String truncate(CharSequence text)
+    {
+
+        if (text.length() <= width)
+        {
+            return text.toString();
+        }
+
+        BreakIterator bi = newBreakIterator();
+        String value = text.toString();
+        bi.setText(value);
+
+        return value.substring(0, boundaryFollowing(bi, value.length()));
+
+    }
+
+    /**
+     * <p>
+     * Same as {@link #truncate(CharSequence)} writing the result to the given
+     * {@link Writer}.
+     * </p>
+     *
+     * @param text
+     *            Text to be truncated
+     * @param out
+     *            Destination of the truncated text
+     * @throws IOException
+     */
+    public void truncate(CharSequence text, Writer out) throws IOException
+    {
+
+        out.append(truncate(text));
+
+    }
+
+    /**
+     * <p>
+     * Reads from the given {@link Reader} only the characters needed to find
+     * the closest word boundary after {@link #getWidth()} characters and writes
+     * the truncated text to the given {@link Writer}. The result is the same as
+     * {@link #truncate(CharSequence)} of the whole text: a word crossing the
+     * width is read up to its end, however long it is.
+     * </p>
+     *
+     * @param in
+     *            Source of the text
+     * @param out
+     *            Destination of the truncated text
+     * @throws IOException
+     */
+    public void truncate(Reader in, Writer out) throws IOException
+    {
+
+        StringBuilder sb = new StringBuilder(width + 32);
+        char[] buf = new char[Math.min(CHUNK_SIZE, width + 32)];
+        int scanned = width + 2;
+        int n;
+
+        while ((n = in.read(buf)) > -1)
+        {
+            sb.append(buf, 0, n);
+
+            if (hasBoundaryFrom(sb, scanned))
+            {
+                break;
+            }
+
+            // only the new characters are scanned on the next round
+            scanned = Math.max(scanned, sb.length());
+        }
+
+        out.append(truncate(sb));
+
+    }
+
+    /**
+     * <p>
+     * Wraps the given text at word boundaries so that lines are not longer
+     * than {@link #getWidth()} characters. Words longer than the width are
+     * placed in a line on their own. Whitespace at the wrapping points is
+     * dropped and existing line breaks are preserved.
+     * </p>
+     *
+     * @param text
+     *            Text to be wrapped
+     * @return the wrapped text
+     */
+    public String wrap(CharSequence text)
+    {
+
+        StringWriter out = new StringWriter(text.length() + text.length() / Math.max(width, 1));
+
+        try
+        {
+            wrap(text, out);
+        } catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+
+        return out.toString();
+
+    }
+
+    /**
+     * <p>
+     * Same as {@link #wrap(CharSequence)} writing the result to the given
+     * {@link Writer}.
+     * </p>
+     *
+     * @param text
+     *            Text to be wrapped
+     * @param out
+     *            Destination of the wrapped text
+     * @throws IOException
+     */
+    public void wrap(CharSequence text, Writer out) throws IOException
+    {
+
+        wrap(CharSource.wrap(text).openStream(), out);
+
+    }
+
+    /**
+     * <p>
+     * Same as {@link #wrap(CharSequence)} streaming from the given
+     * {@link Reader} to the given {@link Writer}.
+     * </p>
+     *
+     * @param in
+     *            Source of the text
+     * @param out
+     *            Destination of the wrapped text
+     * @throws IOException
+     */
+    public void wrap(Reader in, Writer out) throws IOException
+    {
+
+        Wrapping state = new Wrapping(newBreakIterator(), out);
+        StringBuilder sb = new StringBuilder(CHUNK_SIZE * 2);
+        char[] buf = new char[CHUNK_SIZE];
+        int n;
+
+        while ((n = in.read(buf)) > -1)
+        {
+            sb.append(buf, 0, n);
+
+            int cut = lastWhitespace(sb) + 1;
+
+            if (cut == 0 && sb.length() >= CHUNK_SIZE * 2)
+            {
+                // no whitespace at all, i.e. scripts without word separators
+                cut = sb.length();
+            }
+
+            if (cut > 0)
+            {
+                state.process(sb.substring(0, cut));
+                sb.delete(0, cut);
+            }
+        }
+
+        if (sb.length() > 0)
+        {
+            state.process(sb.toString());
+        }
+
+        out.flush();
+
+    }
+
+    private int boundaryFollowing(BreakIterator bi, int length)
+    {
+
+        int end = bi.following(width);
+        return end == BreakIterator.DONE ? length : end;
+
+    }
+
+    /**
+     * Whether a word starts after whitespace at any index from the given one.
+     */
+    private boolean hasBoundaryFrom(CharSequence text, int from)
+    {
+
+        for (int i = from; i < text.length(); i++)
+        {
+            if (Character.isWhitespace(text.charAt(i - 1)) && !Character.isWhitespace(text.charAt(i)))
+            {
+                return true;
+            }
+        }
+
+        return false;
+
+    }
+
+    private int lastWhitespace(CharSequence text)
+    {
+
+        for (int i = text.length() - 1; i >= 0; i--)
+        {
+            if (Character.isWhitespace(text.charAt(i)))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+
+    }
+
+    private BreakIterator newBreakIterator()
+    {
+
+        return (BreakIterator) prototype.clone();
+
+    }
+
+    /**
+     * Wrapping state carried over between chunks.
+     */
+    private final class Wrapping
+    {
+        private final BreakIterator bi;
+
+        private final Writer out;
+
+        private final StringBuilder pending = new StringBuilder();
+
+        private int column;
+
+        private boolean afterCarriageReturn;
+
+        Wrapping(BreakIterator bi, Writer out)
+        {
+            this.bi = bi;
+            this.out = out;
+        }
+
+        void process(String chunk) throws IOException
+        {
+            bi.setText(chunk);
+
+            int start = bi.first();
+            int end = bi.next();
+
+            while (end != BreakIterator.DONE)
+            {
+                if (Character.isWhitespace(chunk.charAt(start)))
+                {
+                    int eol = writeLineBreaks(chunk, start, end);
+
+                    if (eol > -1)
+                    {
+                        // keeps the line breaks, drops the trailing whitespace
+                        pending.setLength(0);
+                        pending.append(chunk, eol + 1, end);
+                        column = 0;
+                    } else
+                    {
+                        pending.append(chunk, start, end);
+                    }
+
+                    start = end;
+                    end = bi.next();
+                    continue;
+                }
+
+                // punctuation sticks to the preceding word, e.g. 'amet,'
+                boolean wordLike = hasLetterOrDigit(chunk, start, end);
+                int next = bi.next();
+
+                while (next != BreakIterator.DONE && !Character.isWhitespace(chunk.charAt(end)))
+                {
+                    boolean nextWordLike = hasLetterOrDigit(chunk, end, next);
+
+                    if (wordLike && nextWordLike)
+                    {
+                        // scripts without word separators
+                        break;
+                    }
+
+                    wordLike = nextWordLike;
+                    end = next;
+                    next = bi.next();
+                }
+
+                writeWord(chunk, start, end);
+                start = end;
+                end = next;
+            }
+        }
+
+        private boolean hasLetterOrDigit(String chunk, int start, int end)
+        {
+            for (int i = start; i < end; i++)
+            {
+                if (Character.isLetterOrDigit(chunk.charAt(i)))
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private void writeWord(String chunk, int start, int end) throws IOException
+        {
+            int len = end - start;
+            afterCarriageReturn = false;
+
+            if (column > 0 && column + pending.length() + len > width)
+            {
+                out.write(lineSeparator);
+                column = 0;
+            } else
+            {
+                out.append(pending);
+                column += pending.length();
+            }
+
+            pending.setLength(0);
+            out.write(chunk, start, len);
+            column += len;
+        }
+
+        private int writeLineBreaks(String chunk, int start, int end) throws IOException
+        {
+            int eol = -1;
+
+            for (int i = start; i < end; i++)
+            {
+                char c = chunk.charAt(i);
+
+                if (c == '\r' || (c == '\n' && !afterCarriageReturn))
+                {
+                    out.write(lineSeparator);
+                }
+
+                if (c == '\n' || c == '\r')
+                {
+                    eol = i;
+                }
+
+                afterCarriageReturn = c == '\r';
+            }
+
+            return eol;
+        }
+    }
+
+}
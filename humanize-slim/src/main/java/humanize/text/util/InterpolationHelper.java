@@ -5,34 +5,256 @@ import humanize.util.Constants;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import com.google.common.base.Strings;
-
 /**
  * Helper for text interpolation.
- * 
+ *
+ * <p>
+ * Interpolation runs on unsynchronized builders that are reused per thread, so
+ * concurrent callers do not contend on a shared lock nor allocate a new buffer
+ * on every call.
+ * </p>
+ *
  */
 public class InterpolationHelper
 {
 
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> buffers = new ThreadLocal<StringBuilder>();
+
+    /**
+     * Replaces the first group of every match of the given pattern by the
+     * value of the replacer. The replacement values follow the conventions of
+     * {@link Matcher#appendReplacement(StringBuffer, String)}, i.e. '$' and
+     * '\' must be escaped, '$g' refers to a group by number and '${name}' to
+     * a named group. Named groups need a Java 7 runtime.
+     *
+     * @param text
+     *            The text to be interpolated
+     * @param pattern
+     *            The pattern to be matched
+     * @param replacer
+     *            Provides the replacement values
+     * @return the interpolated text or the given text if there are no matches
+     *         or the result is empty
+     */
     public static String interpolate(String text, Pattern pattern, Replacer replacer)
     {
+        return interpolate(text, pattern, replacer, false);
+    }
+
+    /**
+     * Same as {@link #interpolate(String, Pattern, Replacer)} but the
+     * replacement values are appended as they are, without any special
+     * meaning for '$' and '\'.
+     *
+     * @param text
+     *            The text to be interpolated
+     * @param pattern
+     *            The pattern to be matched
+     * @param replacer
+     *            Provides the replacement values
+     * @return the interpolated text or the given text if there are no matches
+     *         or the result is empty
+     */
+    public static String interpolateLiteral(String text, Pattern pattern, Replacer replacer)
+    {
+        return interpolate(text, pattern, replacer, true);
+    }
+
+    public static String replaceSupplementary(String text, Replacer replacer)
+    {
+        if (!SupplementaryEscaper.hasSupplementary(text))
+        {
+            return text;
+        }
+
+        return interpolate(text, Constants.NOT_IN_BMP, replacer);
+    }
+
+    private static void appendReplacement(StringBuilder sb, Matcher matcher, String replacement)
+    {
+        int len = replacement.length();
+
+        for (int i = 0; i < len; i++)
+        {
+            char c = replacement.charAt(i);
+
+            if (c == '\\')
+            {
+                if (++i == len)
+                {
+                    throw new IllegalArgumentException("character to be escaped is missing");
+                }
+
+                sb.append(replacement.charAt(i));
+            } else if (c == '$')
+            {
+                if (++i == len)
+                {
+                    throw new IllegalArgumentException("Illegal group reference: group index is missing");
+                }
+
+                if (replacement.charAt(i) == '{')
+                {
+                    i = appendNamedGroup(sb, matcher, replacement, i + 1);
+                    continue;
+                }
+
+                int group = replacement.charAt(i) - '0';
+
+                if (group < 0 || group > 9)
+                {
+                    throw new IllegalArgumentException("Illegal group reference");
+                }
+
+                // greedy, as long as the group exists
+                while (i + 1 < len)
+                {
+                    int digit = replacement.charAt(i + 1) - '0';
+
+                    if (digit < 0 || digit > 9 || group * 10 + digit > matcher.groupCount())
+                    {
+                        break;
+                    }
+
+                    group = group * 10 + digit;
+                    i++;
+                }
+
+                if (group > matcher.groupCount())
+                {
+                    throw new IndexOutOfBoundsException("No group " + group);
+                }
+
+                String value = matcher.group(group);
+
+                if (value != null)
+                {
+                    sb.append(value);
+                }
+            } else
+            {
+                sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * Appends the value of a '${name}' reference whose name starts at the
+     * given index.
+     *
+     * @return the index of the closing brace
+     */
+    private static int appendNamedGroup(StringBuilder sb, Matcher matcher, String replacement, int start)
+    {
+        int end = start;
 
+        while (end < replacement.length() && isAsciiLetterOrDigit(replacement.charAt(end)))
+        {
+            end++;
+        }
+
+        if (end == start)
+        {
+            throw new IllegalArgumentException("named capturing group has 0 length name");
+        }
+
+        if (end == replacement.length() || replacement.charAt(end) != '}')
+        {
+            throw new IllegalArgumentException("named capturing group is missing trailing '}'");
+        }
+
+        String name = replacement.substring(start, end);
+
+        if (name.charAt(0) <= '9')
+        {
+            throw new IllegalArgumentException("capturing group name {" + name + "} starts with digit character");
+        }
+
+        String value = matcher.group(name);
+
+        if (value != null)
+        {
+            sb.append(value);
+        }
+
+        return end;
+    }
+
+    private static StringBuilder borrowBuffer()
+    {
+        StringBuilder sb = buffers.get();
+
+        if (sb == null)
+        {
+            return new StringBuilder(INITIAL_CAPACITY);
+        }
+
+        // the replacer may interpolate again on this thread
+        buffers.set(null);
+        return sb;
+    }
+
+    private static String interpolate(String text, Pattern pattern, Replacer replacer, boolean literal)
+    {
         Matcher matcher = pattern.matcher(text);
-        StringBuffer sb = new StringBuffer();
 
-        while (matcher.find())
+        if (!matcher.find())
         {
-            String replacement = replacer.replace(matcher.group(1));
-            matcher.appendReplacement(sb, Strings.nullToEmpty(replacement));
+            return text;
         }
 
-        matcher.appendTail(sb);
+        StringBuilder sb = borrowBuffer();
+
+        try
+        {
+            int last = 0;
+
+            do
+            {
+                sb.append(text, last, matcher.start());
 
-        return (sb.length() > 0) ? sb.toString() : text;
+                String replacement = replacer.replace(matcher.group(1));
+
+                if (replacement != null)
+                {
+                    if (literal)
+                    {
+                        sb.append(replacement);
+                    } else
+                    {
+                        appendReplacement(sb, matcher, replacement);
+                    }
+                }
+
+                last = matcher.end();
+            } while (matcher.find());
+
+            sb.append(text, last, text.length());
+
+            // an empty result keeps the original text, as it always did
+            return sb.length() > 0 ? sb.toString() : text;
+        } finally
+        {
+            releaseBuffer(sb);
+        }
     }
 
-    public static String replaceSupplementary(String text, Replacer replacer)
+    private static boolean isAsciiLetterOrDigit(char c)
     {
-        return interpolate(text, Constants.NOT_IN_BMP, replacer);
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
     }
+
+    private static void releaseBuffer(StringBuilder sb)
+    {
+        if (sb.capacity() <= MAX_RETAINED_CAPACITY)
+        {
+            sb.setLength(0);
+            buffers.set(sb);
+        }
+    }
+
 }
@@ -0,0 +1,181 @@
+package humanize.text.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * <p>
+ * Escapes characters outside the Basic Multilingual Plane as Java style
+ * '\\uXXXX' sequences of their UTF-16 surrogates. Works by scanning code units
+ * instead of regular expression matching and returns the given text unaltered
+ * without any copy when there is nothing to escape.
+ * </p>
+ *
+ * <pre>
+ * SupplementaryEscaper.escape(&quot;😊&quot;); // == &quot;\\uD83D\\uDE0A&quot;
+ * </pre>
+ *
+ */
+public final class SupplementaryEscaper
+{
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Escapes the supplementary characters of the given text.
+     *
+     * @param text
+     *            The text to be escaped
+     * @return the escaped text or the same instance if there is nothing to be
+     *         escaped
+     */
+    public static String escape(String text)
+    {
+        int first = indexOfSurrogate(text, 0, text.length());
+
+        if (first < 0)
+        {
+            return text;
+        }
+
+        StringBuilder sb = new StringBuilder(text.length() + 16);
+        sb.append(text, 0, first);
+
+        try
+        {
+            escape(text, first, text.length(), sb);
+        } catch (IOException e)
+        {
+            // StringBuilder does not throw
+            throw new IllegalStateException(e);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Escapes the supplementary characters of the given text to the given
+     * {@link Appendable}.
+     *
+     * @param text
+     *            The text to be escaped
+     * @param out
+     *            Destination of the escaped text
+     * @throws IOException
+     */
+    public static void escape(CharSequence text, Appendable out) throws IOException
+    {
+        escape(text, 0, text.length(), out);
+    }
+
+    /**
+     * Escapes the supplementary characters read from the given {@link Reader}
+     * to the given {@link Writer}.
+     *
+     * @param in
+     *            Source of the text
+     * @param out
+     *            Destination of the escaped text
+     * @throws IOException
+     */
+    public static void escape(Reader in, Writer out) throws IOException
+    {
+        char[] buf = new char[BUFFER_SIZE];
+        char[] escaped = new char[6];
+        escaped[0] = '\\';
+        escaped[1] = 'u';
+        int n;
+
+        while ((n = in.read(buf)) > -1)
+        {
+            int start = 0;
+
+            for (int i = 0; i < n; i++)
+            {
+                char c = buf[i];
+
+                if (isSurrogate(c))
+                {
+                    out.write(buf, start, i - start);
+                    toHex(c, escaped);
+                    out.write(escaped);
+                    start = i + 1;
+                }
+            }
+
+            out.write(buf, start, n - start);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Checks if the given text contains any UTF-16 surrogate.
+     *
+     * @param text
+     *            The text to be checked
+     * @return true if the text contains any surrogate, false otherwise
+     */
+    public static boolean hasSupplementary(CharSequence text)
+    {
+        return indexOfSurrogate(text, 0, text.length()) > -1;
+    }
+
+    private static void escape(CharSequence text, int from, int to, Appendable out) throws IOException
+    {
+        int start = from;
+
+        for (int i = from; i < to; i++)
+        {
+            char c = text.charAt(i);
+
+            if (isSurrogate(c))
+            {
+                out.append(text, start, i);
+                out.append('\\').append('u')
+                        .append(HEX_DIGITS[(c >> 12) & 0xF])
+                        .append(HEX_DIGITS[(c >> 8) & 0xF])
+                        .append(HEX_DIGITS[(c >> 4) & 0xF])
+                        .append(HEX_DIGITS[c & 0xF]);
+                start = i + 1;
+            }
+        }
+
+        out.append(text, start, to);
+    }
+
+    private static int indexOfSurrogate(CharSequence text, int from, int to)
+    {
+        for (int i = from; i < to; i++)
+        {
+            if (isSurrogate(text.charAt(i)))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isSurrogate(char c)
+    {
+        return c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE;
+    }
+
+    private static void toHex(char c, char[] dest)
+    {
+        dest[2] = HEX_DIGITS[(c >> 12) & 0xF];
+        dest[3] = HEX_DIGITS[(c >> 8) & 0xF];
+        dest[4] = HEX_DIGITS[(c >> 4) & 0xF];
+        dest[5] = HEX_DIGITS[c & 0xF];
+    }
+
+    private SupplementaryEscaper()
+    {
+        //
+    }
+
+}
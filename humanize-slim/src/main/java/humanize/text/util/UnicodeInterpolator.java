@@ -1,44 +1,178 @@
 package humanize.text.util;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.BoundType;
+import com.google.common.collect.DiscreteDomain;
 import com.google.common.collect.Range;
 import com.google.common.escape.UnicodeEscaper;
 
+/**
+ * {@link UnicodeEscaper} that interpolates the code points within the given
+ * ranges. Ranges are kept merged in a sorted table of closed intervals that is
+ * searched without boxing, and runs of characters outside the ranges are
+ * skipped without calling {@link #escape(int)}.
+ *
+ */
 public class UnicodeInterpolator extends UnicodeEscaper
 {
     private final Replacer replacer;
-    private final Collection<Range<Integer>> ranges;
+
+    /**
+     * Sorted, non-overlapping closed intervals as [lower0, upper0, lower1,
+     * upper1, ...]. Replaced on every change.
+     */
+    private volatile int[] table;
 
     public UnicodeInterpolator(Replacer replacer)
     {
         this.replacer = replacer;
-        this.ranges = new ArrayList<Range<Integer>>();
+        this.table = new int[0];
     }
 
     public void addRange(int lower, int upper)
     {
-        addRange(Range.closed(lower, upper));
+        Preconditions.checkArgument(lower <= upper, "Invalid range [%s, %s]", lower, upper);
+
+        synchronized (this)
+        {
+            table = merge(table, lower, upper);
+        }
     }
 
     public void addRange(Range<Integer> range)
     {
-        ranges.add(range);
+        Range<Integer> closed = range.canonical(DiscreteDomain.integers());
+
+        if (closed.isEmpty())
+        {
+            return;
+        }
+
+        int upper = closed.hasUpperBound() ? closed.upperEndpoint() : Integer.MAX_VALUE;
+
+        if (closed.hasUpperBound() && closed.upperBoundType() == BoundType.OPEN)
+        {
+            upper--;
+        }
+
+        addRange(closed.hasLowerBound() ? closed.lowerEndpoint() : Integer.MIN_VALUE, upper);
+    }
+
+    /**
+     * Checks if the given code point falls within any of the ranges.
+     *
+     * @param codePoint
+     *            The code point to be checked
+     * @return true if the code point is interpolated, false otherwise
+     */
+    public boolean contains(int codePoint)
+    {
+        return contains(table, codePoint);
     }
 
     @Override
     protected char[] escape(int codePoint)
     {
-        for (Range<Integer> range : ranges)
+        if (contains(codePoint))
         {
-            if (range.contains(codePoint))
+            return Strings.nullToEmpty(replacer.replace(Integer.toHexString(codePoint))).toCharArray();
+        }
+
+        return null;
+    }
+
+    @Override
+    protected int nextEscapeIndex(CharSequence csq, int start, int end)
+    {
+        int[] t = table;
+
+        if (t.length == 0)
+        {
+            return end;
+        }
+
+        int min = t[0];
+        int index = start;
+
+        while (index < end)
+        {
+            char c = csq.charAt(index);
+
+            if (c < min && !Character.isHighSurrogate(c))
             {
-                return Strings.nullToEmpty(replacer.replace(Integer.toHexString(codePoint))).toCharArray();
+                index++;
+                continue;
             }
+
+            int cp = Character.codePointAt(csq, index);
+
+            if (contains(t, cp))
+            {
+                break;
+            }
+
+            index += Character.charCount(cp);
+        }
+
+        return index;
+    }
+
+    private static boolean contains(int[] t, int codePoint)
+    {
+        int lo = 0;
+        int hi = (t.length >> 1) - 1;
+
+        while (lo <= hi)
+        {
+            int mid = (lo + hi) >>> 1;
+
+            if (codePoint < t[mid << 1])
+            {
+                hi = mid - 1;
+            } else if (codePoint > t[(mid << 1) + 1])
+            {
+                lo = mid + 1;
+            } else
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int[] merge(int[] t, int lower, int upper)
+    {
+        int[] result = new int[t.length + 2];
+        int n = 0;
+        int i = 0;
+
+        // intervals ending before the new one
+        while (i < t.length && (long) t[i + 1] + 1 < lower)
+        {
+            result[n++] = t[i++];
+            result[n++] = t[i++];
+        }
+
+        // intervals overlapping or adjacent to the new one
+        while (i < t.length && t[i] <= (long) upper + 1)
+        {
+            lower = Math.min(lower, t[i]);
+            upper = Math.max(upper, t[i + 1]);
+            i += 2;
+        }
+
+        result[n++] = lower;
+        result[n++] = upper;
+
+        while (i < t.length)
+        {
+            result[n++] = t[i++];
         }
 
-        return Character.toChars(codePoint);
+        return Arrays.copyOf(result, n);
     }
 }
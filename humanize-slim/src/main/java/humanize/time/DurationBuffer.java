@@ -0,0 +1,121 @@
+package humanize.time;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Reusable buffer of the parts of a precise duration, as unit index,
+ * quantity and remaining delta triples. Filled by
+ * {@link TimeUnitTable#decompose(long, long, DurationBuffer)} without
+ * creating a {@link org.ocpsoft.prettytime.Duration} per part.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ *
+ */
+public final class DurationBuffer
+{
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] units = new int[INITIAL_CAPACITY];
+
+    private long[] quantities = new long[INITIAL_CAPACITY];
+
+    private long[] deltas = new long[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Removes all the parts, keeping the allocated capacity.
+     */
+    public void clear()
+    {
+
+        size = 0;
+
+    }
+
+    /**
+     * Gets the remaining delta in milliseconds after the given part.
+     *
+     * @param index
+     *            The index of the part
+     * @return the remaining delta
+     */
+    public long delta(int index)
+    {
+
+        return deltas[checkIndex(index)];
+
+    }
+
+    /**
+     * Gets the quantity of the given part.
+     *
+     * @param index
+     *            The index of the part
+     * @return the quantity in the unit of the part
+     */
+    public long quantity(int index)
+    {
+
+        return quantities[checkIndex(index)];
+
+    }
+
+    public int size()
+    {
+
+        return size;
+
+    }
+
+    /**
+     * Gets the index of the unit of the given part in its
+     * {@link TimeUnitTable}.
+     *
+     * @param index
+     *            The index of the part
+     * @return the index of the unit
+     */
+    public int unitIndex(int index)
+    {
+
+        return units[checkIndex(index)];
+
+    }
+
+    void add(int unit, long quantity, long delta)
+    {
+
+        if (size == units.length)
+        {
+            int capacity = size * 2;
+            units = Arrays.copyOf(units, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            deltas = Arrays.copyOf(deltas, capacity);
+        }
+
+        units[size] = unit;
+        quantities[size] = quantity;
+        deltas[size] = delta;
+        size++;
+
+    }
+
+    private int checkIndex(int index)
+    {
+
+        if (index >= size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return index;
+
+    }
+
+}
@@ -1,5 +1,7 @@
 package humanize.time;
 
+import humanize.Humanize;
+
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -67,7 +69,7 @@ public class DurationHelper
 
         if (null == ref)
         {
-            ref = new Date();
+            ref = new Date(Humanize.clock().millis());
         }
 
         List<Duration> result = new ArrayList<Duration>();
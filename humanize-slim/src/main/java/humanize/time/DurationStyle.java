@@ -0,0 +1,35 @@
+package humanize.time;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Renders a duration already split into hours, minutes and seconds. The
+ * locale suffixes are resolved once by the caller, so implementations only
+ * append to the given builder.
+ * </p>
+ * 
+ * @see humanize.util.Constants.TimeStyle
+ */
+public interface DurationStyle
+{
+
+    /**
+     * Appends the given duration.
+     * 
+     * @param builder
+     *            The target
+     * @param suffixes
+     *            The hour, minute and second suffixes of the current locale
+     * @param neg
+     *            Whether the duration is negative
+     * @param h
+     *            Hours
+     * @param m
+     *            Minutes, from 0 to 59
+     * @param s
+     *            Seconds, from 0 to 59
+     */
+    void formatTo(StringBuilder builder, List<String> suffixes, boolean neg, int h, int m, int s);
+
+}
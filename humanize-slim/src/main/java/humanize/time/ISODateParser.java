@@ -0,0 +1,439 @@
+package humanize.time;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>
+ * ISO 8601 parser for the XML Schema date and time forms: dateTime
+ * ('2011-09-14T15:22:01.5+02:00'), date ('2011-09-14'), time ('15:22:01Z')
+ * and the partial forms '2011-09', '2011', '--09-14', '--09' and '---14'.
+ * Accepts the same texts and gives the same instants as the JAXB
+ * {@code DatatypeConverter} parse methods, reading the digits directly from
+ * the text.
+ * </p>
+ *
+ * <p>
+ * Fractional seconds are truncated to milliseconds. Texts without a zone
+ * offset are local times of the given zone, the default one if none is given.
+ * Missing fields default to 1970-01-01T00:00:00.000. Dates use the proleptic
+ * Gregorian calendar and negative years are before the common era, so
+ * '-0001' is the year before '0001'.
+ * </p>
+ *
+ */
+public final class ISODateParser
+{
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static final int MAX_OFFSET_MINUTES = 14 * 60;
+
+    private static final int MAX_YEAR_DIGITS = 8;
+
+    /** Days since 0000-03-01 of 1970-01-01 */
+    private static final long EPOCH_DAY_OFFSET = 719468;
+
+    /**
+     * Parses a column of texts, e.g. read from a log, with the same default
+     * zone for all of them.
+     *
+     * @param texts
+     *            The ISO 8601 texts
+     * @param zone
+     *            The zone of the texts without an offset, null for the default
+     *            zone
+     * @return the epoch milliseconds of each text, in the same order
+     * @throws IllegalArgumentException
+     *             if any of the texts is not valid
+     */
+    public static long[] parseAll(List<? extends CharSequence> texts, TimeZone zone)
+    {
+
+        TimeZone local = (zone == null) ? TimeZone.getDefault() : zone;
+        long[] millis = new long[texts.size()];
+        int i = 0;
+
+        for (CharSequence text : texts)
+        {
+            millis[i++] = parseMillis(text, 0, text.length(), local);
+        }
+
+        return millis;
+
+    }
+
+    /**
+     * Parses the given text into a {@link Date}.
+     *
+     * @param text
+     *            The ISO 8601 text
+     * @return the parsed date
+     * @throws IllegalArgumentException
+     *             if the text is not valid
+     */
+    public static Date parseDate(CharSequence text)
+    {
+
+        return new Date(parseMillis(text));
+
+    }
+
+    /**
+     * Parses the given text into epoch milliseconds. Texts without an offset
+     * are in the default zone.
+     *
+     * @param text
+     *            The ISO 8601 text
+     * @return the epoch milliseconds
+     * @throws IllegalArgumentException
+     *             if the text is not valid
+     */
+    public static long parseMillis(CharSequence text)
+    {
+
+        return parseMillis(text, 0, text.length(), null);
+
+    }
+
+    /**
+     * Parses a region of the given text into epoch milliseconds, e.g. the
+     * timestamp of a log line, without copying it.
+     *
+     * @param text
+     *            The text
+     * @param start
+     *            The index of the first character of the date
+     * @param end
+     *            The index after the last character of the date
+     * @param zone
+     *            The zone of the text if it has no offset, null for the
+     *            default zone
+     * @return the epoch milliseconds
+     * @throws IllegalArgumentException
+     *             if the region is not a valid ISO 8601 text
+     */
+    public static long parseMillis(CharSequence text, int start, int end, TimeZone zone)
+    {
+
+        Preconditions.checkPositionIndexes(start, end, text.length());
+
+        int pos = start;
+        boolean hasYear = false;
+        long year = 1970;
+        int month = 1;
+        int day = 1;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millis = 0;
+
+        if (startsWith(text, pos, end, '-') && startsWith(text, pos + 1, end, '-'))
+        {
+            // --MM, --MM-dd or ---dd
+            if (startsWith(text, pos + 2, end, '-'))
+            {
+                day = twoDigits(text, pos + 3, end);
+                pos += 5;
+            } else
+            {
+                month = twoDigits(text, pos + 2, end);
+                pos += 4;
+
+                if (isField(text, pos, end))
+                {
+                    day = twoDigits(text, pos + 1, end);
+                    pos += 3;
+                }
+            }
+        } else if (end - pos > 2 && text.charAt(pos + 2) == ':')
+        {
+            pos = -1;
+        } else
+        {
+            boolean negative = startsWith(text, pos, end, '-');
+            int first = negative ? pos + 1 : pos;
+            int last = first;
+
+            while (last < end && isDigit(text.charAt(last)))
+            {
+                last++;
+            }
+
+            int digits = last - first;
+
+            if (digits < 4 || digits > MAX_YEAR_DIGITS || (digits > 4 && text.charAt(first) == '0'))
+            {
+                throw invalid(text, start, end);
+            }
+
+            year = 0;
+
+            for (int i = first; i < last; i++)
+            {
+                year = year * 10 + (text.charAt(i) - '0');
+            }
+
+            if (year == 0)
+            {
+                throw invalid(text, start, end);
+            }
+
+            year = negative ? -year : year;
+            hasYear = true;
+            pos = last;
+
+            if (isField(text, pos, end))
+            {
+                month = twoDigits(text, pos + 1, end);
+                pos += 3;
+
+                if (isField(text, pos, end))
+                {
+                    day = twoDigits(text, pos + 1, end);
+                    pos += 3;
+
+                    if (startsWith(text, pos, end, 'T'))
+                    {
+                        pos = -pos - 2;
+                    }
+                }
+            }
+        }
+
+        // a negative position flags a time: -1 for a lone time, else -2 - the index of the T
+        if (pos < 0)
+        {
+            pos = (pos == -1) ? start : -pos - 1;
+
+            if (end - pos < 8 || text.charAt(pos + 2) != ':' || text.charAt(pos + 5) != ':')
+            {
+                throw invalid(text, start, end);
+            }
+
+            hour = twoDigits(text, pos, end);
+            minute = twoDigits(text, pos + 3, end);
+            second = twoDigits(text, pos + 6, end);
+            pos += 8;
+
+            if (hour < 0 || minute < 0 || second < 0)
+            {
+                throw invalid(text, start, end);
+            }
+
+            if (startsWith(text, pos, end, '.'))
+            {
+                int first = ++pos;
+
+                while (pos < end && isDigit(text.charAt(pos)))
+                {
+                    int digit = text.charAt(pos) - '0';
+
+                    if (pos - first < 3)
+                    {
+                        millis = millis * 10 + digit;
+                    }
+
+                    pos++;
+                }
+
+                if (pos == first)
+                {
+                    throw invalid(text, start, end);
+                }
+
+                for (int i = pos - first; i < 3; i++)
+                {
+                    millis *= 10;
+                }
+            }
+
+            if (minute > 59 || second > 60 || hour > 24 || (hour == 24 && (minute != 0 || second != 0)))
+            {
+                throw invalid(text, start, end);
+            }
+        }
+
+        boolean endOfDay = hour == 24;
+
+        if (month < 1 || month > 12 || day < 1 || day > (endOfDay ? 31 : maxDay(hasYear, year, month)))
+        {
+            throw invalid(text, start, end);
+        }
+
+        // 24:00:00 is the start of the next day, a lone time stays on its day
+        if (endOfDay)
+        {
+            hour = 0;
+
+            if (hasYear && day < maxDay(true, year, month))
+            {
+                day++;
+            } else if (hasYear)
+            {
+                day = 1;
+                month = month % 12 + 1;
+                year = (month > 1) ? year : (year == -1) ? 1 : year + 1;
+            }
+        }
+
+        // no year zero in XML Schema: -0001 is the year before 0001
+        long astronomical = (year > 0) ? year : year + 1;
+        long local = epochDay(astronomical, month, day) * MILLIS_PER_DAY + hour * 3600000L + minute * 60000L
+                + second * 1000L + millis;
+
+        if (pos == end)
+        {
+            return toUTC(local, astronomical, month, day, hour, minute, second, millis, zone);
+        }
+
+        if (text.charAt(pos) == 'Z' && pos + 1 == end)
+        {
+            return local;
+        }
+
+        char sign = text.charAt(pos);
+
+        if ((sign != '+' && sign != '-') || end - pos != 6 || text.charAt(pos + 3) != ':')
+        {
+            throw invalid(text, start, end);
+        }
+
+        int hours = twoDigits(text, pos + 1, end);
+        int minutes = twoDigits(text, pos + 4, end);
+        int offset = hours * 60 + minutes;
+
+        if (hours < 0 || minutes < 0 || offset > MAX_OFFSET_MINUTES)
+        {
+            throw invalid(text, start, end);
+        }
+
+        return local - (sign == '-' ? -offset : offset) * 60000L;
+
+    }
+
+    /** Days from 1970-01-01 in the proleptic Gregorian calendar */
+    private static long epochDay(long year, int month, int day)
+    {
+
+        long y = (month <= 2) ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * 146097 + dayOfEra - EPOCH_DAY_OFFSET;
+
+    }
+
+    private static IllegalArgumentException invalid(CharSequence text, int start, int end)
+    {
+
+        return new IllegalArgumentException("Invalid ISO 8601 date '" + text.subSequence(start, end) + "'");
+
+    }
+
+    private static boolean isDigit(char c)
+    {
+
+        return c >= '0' && c <= '9';
+
+    }
+
+    /**
+     * Whether a '-dd' field starts at the given index, and not a '-hh:mm'
+     * offset.
+     */
+    private static boolean isField(CharSequence text, int pos, int end)
+    {
+
+        return end - pos >= 3 && text.charAt(pos) == '-' && (end - pos == 3 || text.charAt(pos + 3) != ':');
+
+    }
+
+    /** Leap years follow the signed XML Schema year, as the JAXB parser does */
+    private static int maxDay(boolean hasYear, long year, int month)
+    {
+
+        switch (month)
+        {
+        case 2:
+            boolean leap = !hasYear || (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0));
+            return leap ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+
+    }
+
+    private static boolean startsWith(CharSequence text, int pos, int end, char c)
+    {
+
+        return pos < end && text.charAt(pos) == c;
+
+    }
+
+    /**
+     * Converts local fields to an instant. Away from offset transitions the
+     * offset of the zone is applied directly, otherwise a calendar resolves
+     * skipped and repeated local times.
+     */
+    private static long toUTC(long local, long year, int month, int day, int hour, int minute, int second,
+            int fraction, TimeZone zone)
+    {
+
+        TimeZone tz = (zone == null) ? TimeZone.getDefault() : zone;
+        int offset = tz.getOffset(local - tz.getRawOffset());
+        long millis = local - offset;
+
+        if (offset == tz.getOffset(millis) && offset == tz.getOffset(millis - MILLIS_PER_DAY)
+                && offset == tz.getOffset(millis + MILLIS_PER_DAY))
+        {
+            return millis;
+        }
+
+        GregorianCalendar cal = new GregorianCalendar(tz);
+        cal.clear();
+        cal.setGregorianChange(new Date(Long.MIN_VALUE));
+        cal.set(Calendar.ERA, year > 0 ? GregorianCalendar.AD : GregorianCalendar.BC);
+        cal.set(Calendar.YEAR, (int) (year > 0 ? year : 1 - year));
+        cal.set(Calendar.MONTH, month - 1);
+        cal.set(Calendar.DAY_OF_MONTH, day);
+        cal.set(Calendar.HOUR_OF_DAY, hour);
+        cal.set(Calendar.MINUTE, minute);
+        cal.set(Calendar.SECOND, second);
+        cal.set(Calendar.MILLISECOND, fraction);
+
+        return cal.getTimeInMillis();
+
+    }
+
+    /** Reads two digits, returning -1 if there are not */
+    private static int twoDigits(CharSequence text, int pos, int end)
+    {
+
+        if (end - pos < 2 || !isDigit(text.charAt(pos)) || !isDigit(text.charAt(pos + 1)))
+        {
+            return -1;
+        }
+
+        return (text.charAt(pos) - '0') * 10 + (text.charAt(pos + 1) - '0');
+
+    }
+
+    private ISODateParser()
+    {
+
+    }
+
+}
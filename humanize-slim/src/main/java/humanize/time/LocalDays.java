@@ -0,0 +1,203 @@
+package humanize.time;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * <p>
+ * Calendar days of a time zone, counted from the epoch. A day is the local
+ * date of an instant, so differences between days follow the calendar and
+ * not the elapsed time: days with a daylight saving change are still a single
+ * day.
+ * </p>
+ *
+ * <p>
+ * The bounds of the current day are cached, so comparing many instants to
+ * today only looks up the zone offset of each instant. Instances are
+ * thread-safe.
+ * </p>
+ *
+ */
+public final class LocalDays
+{
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static final int MAX_SIZE = 256;
+
+    /**
+     * Bounded, as zones without value equality, e.g. custom subclasses, get
+     * a new entry on every call.
+     */
+    private static final ConcurrentMap<TimeZone, LocalDays> INSTANCES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE).<TimeZone, LocalDays> build().asMap();
+
+    /**
+     * Gets the shared instance for the given zone.
+     *
+     * @param zone
+     *            The time zone
+     * @return the calendar days of the zone
+     */
+    public static LocalDays of(TimeZone zone)
+    {
+
+        LocalDays days = INSTANCES.get(zone);
+
+        if (days == null)
+        {
+            LocalDays created = new LocalDays(zone);
+            days = INSTANCES.putIfAbsent(created.zone, created);
+
+            if (days == null)
+            {
+                days = created;
+            }
+        }
+
+        return days;
+
+    }
+
+    private final TimeZone zone;
+
+    private volatile Day today = new Day(0, 0, 0);
+
+    /**
+     * Creates the calendar days of the given zone. Later changes to the zone
+     * do not affect this instance.
+     *
+     * @param zone
+     *            The time zone
+     */
+    public LocalDays(TimeZone zone)
+    {
+
+        this.zone = (TimeZone) Preconditions.checkNotNull(zone).clone();
+
+    }
+
+    /**
+     * Gets the number of calendar days between two instants.
+     *
+     * @param from
+     *            The first instant in epoch milliseconds
+     * @param to
+     *            The second instant in epoch milliseconds
+     * @return the days from the first instant to the second one, negative if
+     *         the second one is on an earlier day
+     */
+    public long between(long from, long to)
+    {
+
+        return dayOf(to) - dayOf(from);
+
+    }
+
+    /**
+     * Gets the calendar day of the given instant.
+     *
+     * @param millis
+     *            The instant in epoch milliseconds
+     * @return the local day, counted from 1970-01-01
+     */
+    public long dayOf(long millis)
+    {
+
+        long local = millis + zone.getOffset(millis);
+        long day = local / MILLIS_PER_DAY;
+
+        return (local % MILLIS_PER_DAY < 0) ? day - 1 : day;
+
+    }
+
+    /**
+     * Gets the number of calendar days from the day of the given reference to
+     * the day of the given instant.
+     *
+     * @param millis
+     *            The instant in epoch milliseconds
+     * @param now
+     *            The reference in epoch milliseconds, usually the current time
+     * @return the days from today to the instant, e.g. 1 for tomorrow
+     */
+    public long fromToday(long millis, long now)
+    {
+
+        Day current = today;
+
+        if (now < current.start || now >= current.end)
+        {
+            today = current = dayAround(now);
+        }
+
+        return dayOf(millis) - current.day;
+
+    }
+
+    /** Number of shared instances, for tests */
+    static int sharedCount()
+    {
+
+        return INSTANCES.size();
+
+    }
+
+    public TimeZone getTimeZone()
+    {
+
+        return (TimeZone) zone.clone();
+
+    }
+
+    private Day dayAround(long millis)
+    {
+
+        Calendar cal = Calendar.getInstance(zone);
+        cal.setTimeInMillis(millis);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+
+        long day = dayOf(millis);
+        long start = Math.min(cal.getTimeInMillis(), millis);
+        cal.add(Calendar.DATE, 1);
+        long end = Math.max(cal.getTimeInMillis(), millis + 1);
+
+        // odd transitions at midnight: only cache the given instant
+        if (dayOf(start) != day || dayOf(end - 1) != day)
+        {
+            return new Day(day, millis, millis + 1);
+        }
+
+        return new Day(day, start, end);
+
+    }
+
+    /** A local day and the instants it spans */
+    private static final class Day
+    {
+
+        final long day;
+
+        final long start;
+
+        final long end;
+
+        Day(long day, long start, long end)
+        {
+
+            this.day = day;
+            this.start = start;
+            this.end = end;
+
+        }
+
+    }
+
+}
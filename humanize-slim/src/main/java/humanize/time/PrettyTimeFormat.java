@@ -1,5 +1,6 @@
 package humanize.time;
 
+import humanize.Humanize;
 import humanize.spi.FormatProvider;
 import humanize.text.FormatFactory;
 
@@ -8,6 +9,7 @@ import java.io.ObjectInputStream;
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParsePosition;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -17,13 +19,19 @@ import org.ocpsoft.prettytime.PrettyTime;
 import org.ocpsoft.prettytime.TimeFormat;
 import org.ocpsoft.prettytime.TimeUnit;
 
-import com.google.common.base.Predicate;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
+import com.google.common.base.Preconditions;
 
 /**
  * {@link Format} implementation for {@link PrettyTime}.
  * 
+ * <p>
+ * Instances are shared between threads, so the underlying {@link PrettyTime}
+ * is never modified once published: {@link #registerUnit(TimeUnit, TimeFormat)}
+ * and {@link #clearUnits()} replace it with a modified copy, and it is only
+ * handed out as a read-only copy. Formatting reads whatever instance is
+ * current, without locking.
+ * </p>
+ * 
  */
 public class PrettyTimeFormat extends Format implements FormatProvider
 {
@@ -45,7 +53,9 @@ public class PrettyTimeFormat extends Format implements FormatProvider
 
     }
 
-    private transient PrettyTime prettyTime;
+    private transient volatile PrettyTime prettyTime;
+
+    private transient volatile TimeUnitTable unitTable;
 
     private final Locale locale;
 
@@ -56,23 +66,32 @@ public class PrettyTimeFormat extends Format implements FormatProvider
 
     public PrettyTimeFormat(Locale locale)
     {
-        this.prettyTime = new PrettyTime(locale);
         this.locale = locale;
+        this.prettyTime = publishable(new PrettyTime(locale));
     }
 
     public Duration approximateDuration(Date then)
     {
-        return prettyTime.approximateDuration(then);
+        return getUnitTable().duration(then.getTime() - now());
     }
 
     public List<Duration> calculatePreciseDuration(Date then)
     {
-        return prettyTime.calculatePreciseDuration(then);
+        return DurationHelper.calculatePreciseDuration(new Date(now()), then, getUnits());
     }
 
-    public List<TimeUnit> clearUnits()
+    /**
+     * Removes all the units. The current {@link PrettyTime} is left untouched
+     * for the threads still using it.
+     * 
+     * @return the removed units
+     */
+    public synchronized List<TimeUnit> clearUnits()
     {
-        return prettyTime.clearUnits();
+        PrettyTime current = prettyTime;
+        List<TimeUnit> units = new ArrayList<TimeUnit>(current.getUnits());
+        this.prettyTime = publishable(copyOf(current, false));
+        return units;
     }
 
     /**
@@ -86,7 +105,21 @@ public class PrettyTimeFormat extends Format implements FormatProvider
      */
     public String format(Date ref, Date then)
     {
-        return prettyTime.format(DurationHelper.calculateDuration(ref, then, prettyTime.getUnits()));
+        return format(ref.getTime(), then.getTime());
+    }
+
+    /**
+     * Convenience format method for epoch milliseconds.
+     * 
+     * @param ref
+     *            The date of reference in milliseconds.
+     * @param then
+     *            The future date in milliseconds.
+     * @return a relative format date as text representation
+     */
+    public String format(long ref, long then)
+    {
+        return getUnitTable().format(then - ref);
     }
 
     /**
@@ -103,9 +136,25 @@ public class PrettyTimeFormat extends Format implements FormatProvider
      */
     public String format(Date ref, Date then, long precision)
     {
-        List<Duration> durations = DurationHelper.calculatePreciseDuration(ref, then, prettyTime.getUnits());
-        List<Duration> retained = retainPrecision(durations, precision);
-        return retained.isEmpty() ? "" : prettyTime.format(retained);
+        Preconditions.checkNotNull(then, "Date to calculate must not be null.");
+        return format(ref == null ? now() : ref.getTime(), then.getTime(), precision);
+    }
+
+    /**
+     * Convenience format method for precise durations in epoch milliseconds.
+     * 
+     * @param ref
+     *            The date of reference in milliseconds.
+     * @param then
+     *            The future date in milliseconds.
+     * @param precision
+     *            The precision to retain in milliseconds.
+     * @return a relative format date as text representation or an empty string
+     *         if no durations are retained
+     */
+    public String format(long ref, long then, long precision)
+    {
+        return getUnitTable().format(then - ref, precision);
     }
 
     public String format(Duration duration)
@@ -129,7 +178,7 @@ public class PrettyTimeFormat extends Format implements FormatProvider
 
         if (Date.class.isAssignableFrom(obj.getClass()))
         {
-            return toAppendTo.append(prettyTime.format((Date) obj));
+            return toAppendTo.append(format(now(), ((Date) obj).getTime()));
         }
 
         if (List.class.isAssignableFrom(obj.getClass()))
@@ -139,7 +188,7 @@ public class PrettyTimeFormat extends Format implements FormatProvider
 
         if (Number.class.isAssignableFrom(obj.getClass()))
         {
-            return toAppendTo.append(prettyTime.format(new Date(((Number) obj).longValue())));
+            return toAppendTo.append(format(now(), ((Number) obj).longValue()));
         }
 
         throw new IllegalArgumentException(String.format("Class %s is not suitable for PrettyTimeFormat",
@@ -148,7 +197,7 @@ public class PrettyTimeFormat extends Format implements FormatProvider
 
     public String formatUnrounded(Date then)
     {
-        return prettyTime.formatUnrounded(then);
+        return prettyTime.formatUnrounded(approximateDuration(then));
     }
 
     public String formatUnrounded(Duration duration)
@@ -173,14 +222,26 @@ public class PrettyTimeFormat extends Format implements FormatProvider
         return "prettytime";
     }
 
+    public Locale getLocale()
+    {
+        return locale;
+    }
+
     /**
-     * Gets the underlying {@link PrettyTime} instance.
+     * Gets a read-only copy of the underlying {@link PrettyTime} instance. Its
+     * mutators, e.g. {@link PrettyTime#registerUnit(TimeUnit, TimeFormat)} or
+     * {@link PrettyTime#setLocale(Locale)}, throw an
+     * {@link UnsupportedOperationException}.
      * 
-     * @return the underlying {@link PrettyTime} instance.
+     * @return a read-only copy of the underlying {@link PrettyTime} instance.
+     * @deprecated Use {@link #getUnitTable()} to read the units and
+     *             {@link #registerUnit(TimeUnit, TimeFormat)} or
+     *             {@link #clearUnits()} to change them.
      */
+    @Deprecated
     public PrettyTime getPrettyTime()
     {
-        return prettyTime;
+        return new ReadOnlyPrettyTime(prettyTime);
     }
 
     public List<TimeUnit> getUnits()
@@ -188,33 +249,164 @@ public class PrettyTimeFormat extends Format implements FormatProvider
         return prettyTime.getUnits();
     }
 
+    /**
+     * Gets the table of the units currently registered. The table is rebuilt
+     * whenever the units of the underlying {@link PrettyTime} change.
+     * 
+     * @return the table of the registered units
+     */
+    public TimeUnitTable getUnitTable()
+    {
+        TimeUnitTable table = unitTable;
+        PrettyTime current = prettyTime;
+
+        if (table == null || !table.isSnapshotOf(current.getUnits()))
+        {
+            unitTable = table = TimeUnitTable.of(current);
+        }
+
+        return table;
+    }
+
     @Override
     public Object parseObject(String source, ParsePosition pos)
     {
         throw new UnsupportedOperationException();
     }
 
-    public PrettyTime registerUnit(TimeUnit unit, TimeFormat format)
+    /**
+     * Registers a unit with its format. The current {@link PrettyTime} is left
+     * untouched for the threads still using it.
+     * 
+     * @param unit
+     *            The unit
+     * @param format
+     *            The format for the unit
+     * @return this format, so registrations can be chained
+     */
+    public synchronized PrettyTimeFormat registerUnit(TimeUnit unit, TimeFormat format)
+    {
+        PrettyTime copy = copyOf(prettyTime, true);
+
+        copy.registerUnit(unit, format);
+        this.prettyTime = publishable(copy);
+        return this;
+    }
+
+    private PrettyTime copyOf(PrettyTime current, boolean withUnits)
     {
-        return prettyTime.registerUnit(unit, format);
+        return copyInto(current, new PrettyTime(locale), withUnits);
+    }
+
+    /**
+     * Copies the reference and, if requested, the units of the given
+     * instance into another one, so the given instance is never modified.
+     */
+    private static PrettyTime copyInto(PrettyTime current, PrettyTime copy, boolean withUnits)
+    {
+        Date reference = current.getReference();
+
+        copy.setReference(reference == null ? null : new Date(reference.getTime()));
+        copy.clearUnits();
+
+        if (withUnits)
+        {
+            for (TimeUnit registered : current.getUnits())
+            {
+                copy.registerUnit(registered, current.getFormat(registered));
+            }
+        }
+
+        return copy;
+    }
+
+    /** Relative formats are measured from the clock of {@link Humanize} */
+    private long now()
+    {
+        return Humanize.clock().millis();
+    }
+
+    private PrettyTime publishable(PrettyTime instance)
+    {
+        // sorts and caches the units before other threads can read them
+        instance.getUnits();
+        return instance;
     }
 
     private void readObject(ObjectInputStream ois) throws ClassNotFoundException, IOException
     {
         ois.defaultReadObject();
-        this.prettyTime = new PrettyTime(locale);
+        this.prettyTime = publishable(new PrettyTime(locale));
     }
 
-    private List<Duration> retainPrecision(final List<Duration> durations, final long precision)
+    /**
+     * Copy handed out by {@link PrettyTimeFormat#getPrettyTime()}: changes
+     * would never reach the format, so they fail instead of being lost.
+     */
+    private static final class ReadOnlyPrettyTime extends PrettyTime
     {
-        return ImmutableList.copyOf(Iterables.filter(durations, new Predicate<Duration>()
+
+        private final boolean sealed;
+
+        ReadOnlyPrettyTime(PrettyTime current)
         {
-            @Override
-            public boolean apply(Duration it)
+            super(current.getLocale());
+            copyInto(current, this, true);
+            this.sealed = true;
+        }
+
+        @Override
+        public List<TimeUnit> clearUnits()
+        {
+            checkUnsealed();
+            return super.clearUnits();
+        }
+
+        @Override
+        public PrettyTime registerUnit(TimeUnit unit, TimeFormat format)
+        {
+            checkUnsealed();
+            return super.registerUnit(unit, format);
+        }
+
+        @Override
+        public <UNIT extends TimeUnit> TimeFormat removeUnit(Class<UNIT> unitType)
+        {
+            checkUnsealed();
+            return super.removeUnit(unitType);
+        }
+
+        @Override
+        public TimeFormat removeUnit(TimeUnit unit)
+        {
+            checkUnsealed();
+            return super.removeUnit(unit);
+        }
+
+        @Override
+        public PrettyTime setLocale(Locale locale)
+        {
+            checkUnsealed();
+            return super.setLocale(locale);
+        }
+
+        @Override
+        public PrettyTime setReference(Date timestamp)
+        {
+            checkUnsealed();
+            return super.setReference(timestamp);
+        }
+
+        /** The constructors of PrettyTime call the mutators before sealing */
+        private void checkUnsealed()
+        {
+            if (sealed)
             {
-                return it.getUnit().getMillisPerUnit() >= precision;
+                throw new UnsupportedOperationException(
+                        "Read-only PrettyTime, use PrettyTimeFormat.registerUnit or clearUnits instead");
             }
-        }));
+        }
+
     }
 
 }
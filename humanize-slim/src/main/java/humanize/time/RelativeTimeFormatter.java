@@ -0,0 +1,184 @@
+package humanize.time;
+
+import java.util.Locale;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * <p>
+ * Relative time formatter that remembers its output. Differences are
+ * quantized into buckets of the same unit, quantity and rounding, so that
+ * formatting a feed of timestamps against the same reference renders each
+ * distinct text, e.g. '5 minutes ago', only once.
+ * </p>
+ *
+ * <p>
+ * The rounding of a bucket is the fraction of the next unit in whole percent,
+ * which is as much of the difference as the {@link PrettyTimeFormat} formats
+ * look at. Formats that depend on anything finer should not be memoized.
+ * </p>
+ *
+ * <p>
+ * Instances are thread-safe. The memoized texts are discarded whenever the
+ * units of the underlying format change.
+ * </p>
+ *
+ */
+public final class RelativeTimeFormatter
+{
+
+    private static final int DEFAULT_MAX_SIZE = 1024;
+
+    /** Largest quantity that fits in a bucket key */
+    private static final long MAX_QUANTITY = 1L << 46;
+
+    private static final int MAX_UNITS = 64;
+
+    private final PrettyTimeFormat format;
+
+    private final long maxSize;
+
+    private volatile Buckets buckets;
+
+    /**
+     * Creates a formatter with up to 1024 memoized texts.
+     *
+     * @param format
+     *            The underlying format
+     */
+    public RelativeTimeFormatter(PrettyTimeFormat format)
+    {
+
+        this(format, DEFAULT_MAX_SIZE);
+
+    }
+
+    /**
+     * Creates a formatter.
+     *
+     * @param format
+     *            The underlying format
+     * @param maxSize
+     *            Maximum number of memoized texts
+     */
+    public RelativeTimeFormatter(PrettyTimeFormat format, long maxSize)
+    {
+
+        Preconditions.checkArgument(maxSize >= 0, "maxSize < 0");
+
+        this.format = Preconditions.checkNotNull(format);
+        this.maxSize = maxSize;
+
+    }
+
+    /**
+     * Renders the given difference as relative time, e.g. '3 minutes ago'.
+     *
+     * @param difference
+     *            Milliseconds from the reference, negative for the past
+     * @return the relative time as text
+     */
+    public String format(long difference)
+    {
+
+        Buckets current = buckets();
+        TimeUnitTable table = current.table;
+
+        int index = table.indexOf(difference);
+        long quantity = table.quantity(difference, index);
+        long millisPerUnit = table.millisPerUnit(index);
+
+        if (index >= MAX_UNITS || Math.abs(quantity) >= MAX_QUANTITY)
+        {
+            return table.format(difference);
+        }
+
+        long delta = difference - quantity * millisPerUnit;
+
+        // same expression as Duration.getQuantityRounded(tolerance)
+        int percent = (int) Math.ceil(Math.abs((double) delta / (double) millisPerUnit * 100));
+        long key = ((quantity << 6 | index) << 8 | percent) << 2 | (Long.signum(delta) + 1);
+
+        String text = current.texts.getIfPresent(key);
+
+        if (text == null)
+        {
+            text = table.format(difference);
+            current.texts.put(key, text);
+        }
+
+        return text;
+
+    }
+
+    /**
+     * Renders the given date as relative time to the reference.
+     *
+     * @param reference
+     *            The date of reference in milliseconds
+     * @param then
+     *            The date in milliseconds
+     * @return the relative time as text
+     */
+    public String format(long reference, long then)
+    {
+
+        return format(then - reference);
+
+    }
+
+    public Locale getLocale()
+    {
+
+        return format.getLocale();
+
+    }
+
+    /**
+     * Gets the number of memoized texts.
+     *
+     * @return the number of memoized texts
+     */
+    public long size()
+    {
+
+        return buckets().texts.size();
+
+    }
+
+    private Buckets buckets()
+    {
+
+        Buckets current = buckets;
+        TimeUnitTable table = format.getUnitTable();
+
+        if (current == null || current.table != table)
+        {
+            buckets = current = new Buckets(table, CacheBuilder.newBuilder().maximumSize(maxSize)
+                    .<Long, String> build());
+        }
+
+        return current;
+
+    }
+
+    private static final class Buckets
+    {
+
+        final TimeUnitTable table;
+
+        final Cache<Long, String> texts;
+
+        Buckets(TimeUnitTable table, Cache<Long, String> texts)
+        {
+
+            this.table = table;
+            this.texts = texts;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,212 @@
+package humanize.time;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>
+ * Immutable date format for a pattern and a locale that can be shared by any
+ * number of threads.
+ * </p>
+ * 
+ * <p>
+ * {@link SimpleDateFormat} is mutable, so the pattern is compiled once into a
+ * prototype that is never used directly, and formatting borrows a copy of it
+ * from a small pool. The pool keeps at most one idle copy per processor, so
+ * the memory used by a pattern does not depend on the number of threads.
+ * </p>
+ * 
+ */
+public final class SharedDateFormat
+{
+
+    private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors();
+
+    private final String pattern;
+
+    private final Locale locale;
+
+    private final DateFormat prototype;
+
+    private final Queue<DateFormat> idle = new ConcurrentLinkedQueue<DateFormat>();
+
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * Creates a shared format.
+     * 
+     * @param pattern
+     *            Format pattern that follows the conventions of
+     *            {@link SimpleDateFormat}
+     * @param locale
+     *            Target locale
+     * @throws IllegalArgumentException
+     *             if the pattern is not valid
+     */
+    public SharedDateFormat(String pattern, Locale locale)
+    {
+
+        this(pattern, locale, true);
+
+    }
+
+    /**
+     * Creates a shared format with the given leniency.
+     * 
+     * @param pattern
+     *            Format pattern that follows the conventions of
+     *            {@link SimpleDateFormat}
+     * @param locale
+     *            Target locale
+     * @param lenient
+     *            Whether parsing is lenient
+     * @throws IllegalArgumentException
+     *             if the pattern is not valid
+     */
+    public SharedDateFormat(String pattern, Locale locale, boolean lenient)
+    {
+
+        this.pattern = Preconditions.checkNotNull(pattern);
+        this.locale = Preconditions.checkNotNull(locale);
+        this.prototype = new SimpleDateFormat(pattern, locale);
+        this.prototype.setLenient(lenient);
+
+    }
+
+    /**
+     * Formats the given date.
+     * 
+     * @param value
+     *            Date to be formatted
+     * @return a formatted date/time string
+     */
+    public String format(Date value)
+    {
+
+        DateFormat format = borrow();
+
+        try
+        {
+            return format.format(value);
+        } finally
+        {
+            release(format);
+        }
+
+    }
+
+    public Locale getLocale()
+    {
+
+        return locale;
+
+    }
+
+    public String getPattern()
+    {
+
+        return pattern;
+
+    }
+
+    /**
+     * Creates a private copy of the format, which the caller is free to
+     * configure.
+     * 
+     * @return a new {@link DateFormat} instance
+     */
+    public DateFormat newInstance()
+    {
+
+        return (DateFormat) prototype.clone();
+
+    }
+
+    /**
+     * Parses a date from the beginning of the given text.
+     * 
+     * @param source
+     *            The text to parse
+     * @return the parsed date
+     * @throws ParseException
+     *             if the beginning of the text cannot be parsed
+     */
+    public Date parse(String source) throws ParseException
+    {
+
+        DateFormat format = borrow();
+
+        try
+        {
+            return format.parse(source);
+        } finally
+        {
+            release(format);
+        }
+
+    }
+
+    /**
+     * Parses a date from the given position without throwing on failure, the
+     * same as {@link DateFormat#parse(String, ParsePosition)}.
+     * 
+     * @param source
+     *            The text to parse
+     * @param pos
+     *            The position to start at, updated with the end of the date
+     *            or the error index
+     * @return the parsed date or null if the text cannot be parsed
+     */
+    public Date parse(String source, ParsePosition pos)
+    {
+
+        DateFormat format = borrow();
+
+        try
+        {
+            return format.parse(source, pos);
+        } finally
+        {
+            release(format);
+        }
+
+    }
+
+    private DateFormat borrow()
+    {
+
+        DateFormat format = idle.poll();
+
+        if (format == null)
+        {
+            return newInstance();
+        }
+
+        idleCount.decrementAndGet();
+        return format;
+
+    }
+
+    private void release(DateFormat format)
+    {
+
+        if (idleCount.incrementAndGet() <= MAX_IDLE)
+        {
+            idle.offer(format);
+        } else
+        {
+            idleCount.decrementAndGet();
+        }
+
+    }
+
+}
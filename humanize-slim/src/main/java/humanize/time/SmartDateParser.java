@@ -0,0 +1,550 @@
+package humanize.time;
+
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>
+ * Parser that tries a list of non lenient date patterns in order, the same
+ * as {@link humanize.Humanize#parseSmartDate(String, String...)}, compiled
+ * once so that it can be applied to many dates.
+ * </p>
+ *
+ * <p>
+ * Separators in the text are replaced by a slash before parsing. Patterns
+ * made of numeric fields, e.g. 'dd/MM/yyyy', are checked against the digit
+ * runs of the text first, so a pattern whose month or day is out of range is
+ * skipped without parsing. Failed attempts do not throw exceptions.
+ * </p>
+ *
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ *
+ */
+public final class SmartDateParser
+{
+
+    /** Matches any run of characters other than ASCII digits */
+    public static final String DEFAULT_SEPARATOR = "[\\D-_\\s]+";
+
+    private static final char SLASH = '/';
+
+    /** Digit runs are capped to keep the values far from overflowing */
+    private static final long MAX_VALUE = 1000000000000L;
+
+    /**
+     * Creates a parser with the default separator.
+     *
+     * @param locale
+     *            Target locale
+     * @param formats
+     *            The patterns to try in order
+     * @return a new parser
+     * @throws IllegalArgumentException
+     *             if any of the patterns is not valid
+     */
+    public static SmartDateParser of(Locale locale, String... formats)
+    {
+
+        return new SmartDateParser(locale, DEFAULT_SEPARATOR, formats);
+
+    }
+
+    private final Locale locale;
+
+    private final String separator;
+
+    /** The compiled separator, null for the default one */
+    private final Pattern separatorPattern;
+
+    private final Candidate[] candidates;
+
+    private final int maxFields;
+
+    /**
+     * Creates a parser.
+     *
+     * @param locale
+     *            Target locale
+     * @param separator
+     *            The separator regexp
+     * @param formats
+     *            The patterns to try in order
+     * @throws IllegalArgumentException
+     *             if any of the patterns is not valid
+     */
+    public SmartDateParser(Locale locale, String separator, String[] formats)
+    {
+
+        this.locale = Preconditions.checkNotNull(locale);
+        this.separator = Preconditions.checkNotNull(separator);
+        this.separatorPattern = DEFAULT_SEPARATOR.equals(separator) ? null : Pattern.compile(separator);
+        this.candidates = new Candidate[formats.length];
+
+        int fields = 0;
+
+        for (int i = 0; i < formats.length; i++)
+        {
+            candidates[i] = new Candidate(formats[i], locale);
+
+            if (candidates[i].min != null)
+            {
+                fields = Math.max(fields, candidates[i].min.length);
+            }
+        }
+
+        this.maxFields = fields;
+
+    }
+
+    public Locale getLocale()
+    {
+
+        return locale;
+
+    }
+
+    public String getSeparator()
+    {
+
+        return separator;
+
+    }
+
+    /**
+     * Parses the given date string with the first pattern that matches it.
+     *
+     * @param dateStr
+     *            The date string
+     * @return the converted Date
+     * @throws IllegalArgumentException
+     *             if none of the patterns matches
+     */
+    public Date parse(String dateStr)
+    {
+
+        Date date = parse(Preconditions.checkNotNull(dateStr), new Groups(maxFields));
+
+        if (date == null)
+        {
+            throw new IllegalArgumentException("Unable to parse date '" + dateStr + "'");
+        }
+
+        return date;
+
+    }
+
+    /**
+     * Parses a column of date strings, e.g. read from a CSV file. Each string
+     * is parsed as {@link #parseOrNull(String)} does.
+     *
+     * @param column
+     *            The date strings
+     * @return the converted dates in the same order, with null for the
+     *         strings that are null or do not match any pattern
+     */
+    public List<Date> parseAll(Iterable<String> column)
+    {
+
+        Groups groups = new Groups(maxFields);
+        List<Date> dates = new ArrayList<Date>();
+
+        for (String dateStr : column)
+        {
+            dates.add(dateStr == null ? null : parse(dateStr, groups));
+        }
+
+        return dates;
+
+    }
+
+    /**
+     * Same as {@link #parse(String)} but returns null instead of throwing an
+     * exception.
+     *
+     * @param dateStr
+     *            The date string
+     * @return the converted Date or null if the string is null or none of the
+     *         patterns matches
+     */
+    public Date parseOrNull(String dateStr)
+    {
+
+        return dateStr == null ? null : parse(dateStr, new Groups(maxFields));
+
+    }
+
+    private String normalize(String dateStr)
+    {
+
+        if (separatorPattern != null)
+        {
+            return separatorPattern.matcher(dateStr).replaceAll(String.valueOf(SLASH));
+        }
+
+        // same as replacing DEFAULT_SEPARATOR, without a matcher
+        int length = dateStr.length();
+        int start = 0;
+
+        while (start < length && isAsciiDigitOrSingleSlash(dateStr, start))
+        {
+            start++;
+        }
+
+        if (start == length)
+        {
+            return dateStr;
+        }
+
+        StringBuilder sb = new StringBuilder(length).append(dateStr, 0, start);
+        boolean inSeparator = start > 0 && dateStr.charAt(start - 1) == SLASH;
+
+        for (int i = start; i < length; i++)
+        {
+            char c = dateStr.charAt(i);
+
+            if (c >= '0' && c <= '9')
+            {
+                sb.append(c);
+                inSeparator = false;
+            } else if (!inSeparator)
+            {
+                sb.append(SLASH);
+                inSeparator = true;
+            }
+        }
+
+        return sb.toString();
+
+    }
+
+    private boolean isAsciiDigitOrSingleSlash(String text, int index)
+    {
+
+        char c = text.charAt(index);
+
+        if (c >= '0' && c <= '9')
+        {
+            return true;
+        }
+
+        return c == SLASH && (index == 0 || text.charAt(index - 1) != SLASH);
+
+    }
+
+    private Date parse(String dateStr, Groups groups)
+    {
+
+        String text = normalize(dateStr);
+        boolean checked = groups.scan(text);
+        ParsePosition pos = groups.pos;
+
+        for (Candidate candidate : candidates)
+        {
+            if (checked && !candidate.accepts(groups))
+            {
+                continue;
+            }
+
+            pos.setIndex(0);
+            pos.setErrorIndex(-1);
+
+            Date date = candidate.format.parse(text, pos);
+
+            // DateFormat.parse(String) fails when nothing is consumed
+            if (date != null && pos.getIndex() > 0)
+            {
+                return date;
+            }
+        }
+
+        return null;
+
+    }
+
+    /** A pattern and the ranges of its numeric fields */
+    private static final class Candidate
+    {
+
+        final SharedDateFormat format;
+
+        /** Bounds of the numeric fields in order, null if not checkable */
+        final long[] min;
+
+        final long[] max;
+
+        Candidate(String pattern, Locale locale)
+        {
+
+            this.format = new SharedDateFormat(pattern, locale, false);
+
+            List<Character> fields = numericFields(pattern);
+
+            if (fields == null)
+            {
+                this.min = null;
+                this.max = null;
+            } else
+            {
+                this.min = new long[fields.size()];
+                this.max = new long[fields.size()];
+
+                for (int i = 0; i < min.length; i++)
+                {
+                    setBounds(i, fields.get(i));
+                }
+            }
+
+        }
+
+        /**
+         * Whether the pattern can match the given digit runs. Only rejects
+         * values that the non lenient format would reject too.
+         */
+        boolean accepts(Groups groups)
+        {
+
+            if (min == null)
+            {
+                return true;
+            }
+
+            if (groups.count < min.length)
+            {
+                return false;
+            }
+
+            for (int i = 0; i < min.length; i++)
+            {
+                long value = groups.values[i];
+
+                if (value < min[i] || value > max[i])
+                {
+                    return false;
+                }
+            }
+
+            return true;
+
+        }
+
+        private void setBounds(int index, char letter)
+        {
+
+            switch (letter)
+            {
+            case 'M':
+            case 'L':
+                min[index] = 1;
+                max[index] = 12;
+                break;
+            case 'd':
+                min[index] = 1;
+                max[index] = 31;
+                break;
+            case 'H':
+                max[index] = 23;
+                break;
+            case 'h':
+            case 'K':
+                max[index] = 12;
+                break;
+            case 'k':
+                max[index] = 24;
+                break;
+            case 'm':
+            case 's':
+                max[index] = 59;
+                break;
+            default:
+                max[index] = Long.MAX_VALUE;
+            }
+
+        }
+
+        /**
+         * Gets the letters of the numeric fields of the given pattern, or null
+         * if the pattern has text fields, fields without a separator between
+         * them or digits in its literals.
+         */
+        private static List<Character> numericFields(String pattern)
+        {
+
+            List<Character> fields = new ArrayList<Character>();
+            boolean separated = true;
+            int length = pattern.length();
+            int i = 0;
+
+            while (i < length)
+            {
+                char c = pattern.charAt(i);
+
+                if (c == '\'')
+                {
+                    int end = i + 1;
+
+                    while (end < length)
+                    {
+                        char q = pattern.charAt(end);
+
+                        if (q == '\'')
+                        {
+                            if (end + 1 < length && pattern.charAt(end + 1) == '\'' && end > i + 1)
+                            {
+                                end += 2;
+                                continue;
+                            }
+                            break;
+                        }
+
+                        if (Character.isDigit(q))
+                        {
+                            return null;
+                        }
+
+                        end++;
+                    }
+
+                    separated = true;
+                    i = end + 1;
+                } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))
+                {
+                    int count = 1;
+
+                    while (i + count < length && pattern.charAt(i + count) == c)
+                    {
+                        count++;
+                    }
+
+                    if (!separated || !isNumeric(c, count))
+                    {
+                        return null;
+                    }
+
+                    fields.add(c);
+                    separated = false;
+                    i += count;
+                } else if (Character.isDigit(c))
+                {
+                    return null;
+                } else
+                {
+                    separated = true;
+                    i++;
+                }
+            }
+
+            return fields;
+
+        }
+
+        private static boolean isNumeric(char letter, int count)
+        {
+
+            switch (letter)
+            {
+            case 'M':
+            case 'L':
+                return count <= 2;
+            case 'y':
+            case 'Y':
+            case 'u':
+            case 'd':
+            case 'D':
+            case 'F':
+            case 'H':
+            case 'k':
+            case 'K':
+            case 'h':
+            case 'm':
+            case 's':
+            case 'S':
+            case 'w':
+            case 'W':
+                return true;
+            default:
+                return false;
+            }
+
+        }
+
+    }
+
+    /** Values of the digit runs of a normalized date string */
+    private static final class Groups
+    {
+
+        final long[] values;
+
+        final ParsePosition pos = new ParsePosition(0);
+
+        int count;
+
+        Groups(int size)
+        {
+
+            this.values = new long[size];
+
+        }
+
+        /**
+         * Collects the digit runs of the given text.
+         *
+         * @return true if the text only has ASCII digits and slashes, so the
+         *         runs line up with the fields of the patterns
+         */
+        boolean scan(String text)
+        {
+
+            count = 0;
+            long value = -1;
+
+            for (int i = 0; i < text.length(); i++)
+            {
+                char c = text.charAt(i);
+
+                if (c >= '0' && c <= '9')
+                {
+                    value = Math.min((value < 0 ? 0 : value * 10) + (c - '0'), MAX_VALUE);
+                } else if (c == SLASH)
+                {
+                    add(value);
+                    value = -1;
+                } else
+                {
+                    return false;
+                }
+            }
+
+            add(value);
+            return true;
+
+        }
+
+        private void add(long value)
+        {
+
+            if (value < 0)
+            {
+                return;
+            }
+
+            if (count < values.length)
+            {
+                values[count] = value;
+            }
+
+            count++;
+
+        }
+
+    }
+
+}
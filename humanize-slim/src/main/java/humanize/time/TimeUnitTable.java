@@ -0,0 +1,497 @@
+package humanize.time;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.ocpsoft.prettytime.Duration;
+import org.ocpsoft.prettytime.PrettyTime;
+import org.ocpsoft.prettytime.TimeFormat;
+import org.ocpsoft.prettytime.TimeUnit;
+import org.ocpsoft.prettytime.impl.DurationImpl;
+import org.ocpsoft.prettytime.units.TimeUnitComparator;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>
+ * Snapshot of the time units of a {@link PrettyTime} instance, with the
+ * threshold of each unit and its format resolved up front. Picks the unit for
+ * a difference in milliseconds the same way
+ * {@link DurationHelper#calculateDuration(long, List)} does, without copying
+ * the unit list.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe, as long as the unit formats are,
+ * so a table can be shared without locking. Units are customized by building
+ * a new table with {@link #toBuilder()}.
+ * </p>
+ *
+ */
+public final class TimeUnitTable
+{
+
+    private static final ThreadLocal<DurationBuffer> BUFFER = new ThreadLocal<DurationBuffer>()
+    {
+        @Override
+        protected DurationBuffer initialValue()
+        {
+            return new DurationBuffer();
+        }
+    };
+
+    /**
+     * Creates an empty builder.
+     *
+     * @return a builder without units
+     */
+    public static Builder builder()
+    {
+
+        return new Builder();
+
+    }
+
+    /**
+     * Creates a table with the default units of the given locale.
+     *
+     * @param locale
+     *            Target locale
+     * @return a table of the default units
+     */
+    public static TimeUnitTable of(Locale locale)
+    {
+
+        return of(new PrettyTime(locale));
+
+    }
+
+    /**
+     * Creates a table from the units currently registered in the given
+     * instance.
+     *
+     * @param prettyTime
+     *            The source of units and formats
+     * @return a table of the registered units
+     */
+    public static TimeUnitTable of(PrettyTime prettyTime)
+    {
+
+        List<TimeUnit> source = prettyTime.getUnits();
+        TimeUnit[] units = source.toArray(new TimeUnit[source.size()]);
+        TimeFormat[] formats = new TimeFormat[units.length];
+
+        for (int i = 0; i < units.length; i++)
+        {
+            formats[i] = prettyTime.getFormat(units[i]);
+        }
+
+        return new TimeUnitTable(source, units, formats);
+
+    }
+
+    private final List<TimeUnit> source;
+
+    private final TimeUnit[] units;
+
+    private final TimeFormat[] formats;
+
+    private final long[] millis;
+
+    /** Smallest absolute difference that no longer uses the unit */
+    private final long[] thresholds;
+
+    private TimeUnitTable(List<TimeUnit> source, TimeUnit[] units, TimeFormat[] formats)
+    {
+
+        int size = units.length;
+
+        this.source = source;
+        this.units = units;
+        this.formats = formats;
+        this.millis = new long[size];
+        this.thresholds = new long[size];
+
+        for (int i = 0; i < size; i++)
+        {
+            TimeUnit unit = units[i];
+            long quantity = Math.abs(unit.getMaxQuantity());
+            boolean isLastUnit = i == size - 1;
+
+            if (quantity == 0L && !isLastUnit)
+            {
+                quantity = units[i + 1].getMillisPerUnit() / unit.getMillisPerUnit();
+            }
+
+            millis[i] = Math.abs(unit.getMillisPerUnit());
+            thresholds[i] = isLastUnit ? Long.MAX_VALUE : millis[i] * quantity;
+        }
+
+    }
+
+    /**
+     * Splits the given difference into the parts of a precise duration, the
+     * same as {@link DurationHelper#calculatePreciseDuration} does, keeping
+     * only the parts whose unit is at least the given precision.
+     *
+     * @param difference
+     *            Milliseconds from the reference, negative for the past
+     * @param precision
+     *            The precision to retain in milliseconds
+     * @param buffer
+     *            The target, cleared before adding the parts
+     * @return the given buffer
+     */
+    public DurationBuffer decompose(long difference, long precision, DurationBuffer buffer)
+    {
+
+        buffer.clear();
+
+        long delta = difference;
+
+        do
+        {
+            int index = indexOf(delta);
+            long quantity = quantity(delta, index);
+            long remainder = delta - quantity * millis[index];
+
+            if (units[index].getMillisPerUnit() >= precision)
+            {
+                buffer.add(index, quantity, remainder);
+            }
+
+            delta = remainder;
+        } while (delta != 0L);
+
+        return buffer;
+
+    }
+
+    /**
+     * Calculates the duration for the given difference.
+     *
+     * @param difference
+     *            Milliseconds from the reference, negative for the past
+     * @return the duration in the most suitable unit
+     */
+    public Duration duration(long difference)
+    {
+
+        return duration(difference, indexOf(difference));
+
+    }
+
+    /**
+     * Renders the given difference as relative time, e.g. '3 minutes ago'.
+     *
+     * @param difference
+     *            Milliseconds from the reference, negative for the past
+     * @return the relative time as text
+     */
+    public String format(long difference)
+    {
+
+        int index = indexOf(difference);
+        Duration duration = duration(difference, index);
+        TimeFormat format = formats[index];
+
+        return format.decorate(duration, format.format(duration));
+
+    }
+
+    /**
+     * Renders the given difference as a precise relative time, e.g. '3 days
+     * 15 hours ago', the same as {@link PrettyTime#format(List)} does for the
+     * retained durations.
+     *
+     * @param difference
+     *            Milliseconds from the reference, negative for the past
+     * @param precision
+     *            The precision to retain in milliseconds
+     * @return the relative time as text or an empty string if no parts are
+     *         retained
+     */
+    public String format(long difference, long precision)
+    {
+
+        DurationBuffer buffer = decompose(difference, precision, BUFFER.get());
+        int size = buffer.size();
+
+        if (size == 0)
+        {
+            return "";
+        }
+
+        DurationImpl duration = new DurationImpl();
+        StringBuilder text = new StringBuilder();
+        TimeFormat format = null;
+
+        for (int i = 0; i < size; i++)
+        {
+            int index = buffer.unitIndex(i);
+
+            duration.setUnit(units[index]);
+            duration.setQuantity(buffer.quantity(i));
+            duration.setDelta(buffer.delta(i));
+            format = formats[index];
+
+            if (i < size - 1)
+            {
+                text.append(format.formatUnrounded(duration)).append(' ');
+            } else
+            {
+                text.append(format.format(duration));
+            }
+        }
+
+        return format.decorateUnrounded(duration, text.toString());
+
+    }
+
+    /**
+     * Gets the index of the unit used for the given difference.
+     *
+     * @param difference
+     *            Milliseconds from the reference, negative for the past
+     * @return the index of the unit
+     */
+    public int indexOf(long difference)
+    {
+
+        Preconditions.checkState(units.length > 0, "No time units registered");
+
+        long absoluteDifference = Math.abs(difference);
+        int index = 0;
+
+        while (index < units.length - 1 && thresholds[index] <= absoluteDifference)
+        {
+            index++;
+        }
+
+        return index;
+
+    }
+
+    /**
+     * Whether this table still reflects the given unit list.
+     *
+     * @param units
+     *            The current units of the source instance
+     * @return true if the units are the ones this table was built from
+     */
+    public boolean isSnapshotOf(List<TimeUnit> units)
+    {
+
+        return source == units;
+
+    }
+
+    /**
+     * Gets the milliseconds per unit of the unit at the given index.
+     *
+     * @param index
+     *            The index of the unit
+     * @return the absolute milliseconds per unit
+     */
+    public long millisPerUnit(int index)
+    {
+
+        return millis[index];
+
+    }
+
+    /**
+     * Gets the quantity of the given difference in the unit at the given
+     * index, at least one unit in the direction of the difference.
+     *
+     * @param difference
+     *            Milliseconds from the reference, negative for the past
+     * @param index
+     *            The index of the unit
+     * @return the quantity in the unit
+     */
+    public long quantity(long difference, int index)
+    {
+
+        long millisPerUnit = millis[index];
+
+        if (millisPerUnit > Math.abs(difference))
+        {
+            return difference < 0L ? -1L : 1L;
+        }
+
+        return difference / millisPerUnit;
+
+    }
+
+    public int size()
+    {
+
+        return units.length;
+
+    }
+
+    /**
+     * Creates a builder with the units of this table. Changes to the builder
+     * do not affect this table.
+     *
+     * @return a builder with a copy of the units
+     */
+    public Builder toBuilder()
+    {
+
+        Builder builder = new Builder();
+
+        for (int i = 0; i < units.length; i++)
+        {
+            builder.register(units[i], formats[i]);
+        }
+
+        return builder;
+
+    }
+
+    public TimeFormat timeFormat(int index)
+    {
+
+        return formats[index];
+
+    }
+
+    public TimeUnit unit(int index)
+    {
+
+        return units[index];
+
+    }
+
+    private Duration duration(long difference, int index)
+    {
+
+        long quantity = quantity(difference, index);
+        DurationImpl result = new DurationImpl();
+
+        result.setUnit(units[index]);
+        result.setQuantity(quantity);
+        result.setDelta(difference - quantity * millis[index]);
+
+        return result;
+
+    }
+
+    /**
+     * Collects units and formats for a new table. Tables never share state
+     * with the builder they come from, so a table can be customized by
+     * copying it into a builder while other threads keep using it.
+     */
+    public static final class Builder
+    {
+
+        private final Map<TimeUnit, TimeFormat> units = new LinkedHashMap<TimeUnit, TimeFormat>();
+
+        private Builder()
+        {
+
+        }
+
+        /**
+         * Creates a table with the registered units, sorted from the smallest
+         * to the largest.
+         *
+         * @return a new table
+         */
+        public TimeUnitTable build()
+        {
+
+            TimeUnit[] sorted = units.keySet().toArray(new TimeUnit[units.size()]);
+            Arrays.sort(sorted, new TimeUnitComparator());
+
+            TimeFormat[] formats = new TimeFormat[sorted.length];
+
+            for (int i = 0; i < sorted.length; i++)
+            {
+                formats[i] = units.get(sorted[i]);
+            }
+
+            return new TimeUnitTable(null, sorted, formats);
+
+        }
+
+        /**
+         * Removes all the units.
+         *
+         * @return this builder
+         */
+        public Builder clear()
+        {
+
+            units.clear();
+            return this;
+
+        }
+
+        /**
+         * Registers a unit with its format, replacing the format of an equal
+         * unit.
+         *
+         * @param unit
+         *            The unit
+         * @param format
+         *            The format for the unit
+         * @return this builder
+         */
+        public Builder register(TimeUnit unit, TimeFormat format)
+        {
+
+            units.put(Preconditions.checkNotNull(unit, "Unit to register must not be null."),
+                    Preconditions.checkNotNull(format, "Format to register must not be null."));
+            return this;
+
+        }
+
+        /**
+         * Removes the units of the given type.
+         *
+         * @param type
+         *            The type of the units to remove
+         * @return this builder
+         */
+        public Builder remove(Class<? extends TimeUnit> type)
+        {
+
+            Iterator<TimeUnit> it = units.keySet().iterator();
+
+            while (it.hasNext())
+            {
+                if (type.isInstance(it.next()))
+                {
+                    it.remove();
+                }
+            }
+
+            return this;
+
+        }
+
+        /**
+         * Removes the given unit.
+         *
+         * @param unit
+         *            The unit to remove
+         * @return this builder
+         */
+        public Builder remove(TimeUnit unit)
+        {
+
+            units.remove(unit);
+            return this;
+
+        }
+
+    }
+
+}
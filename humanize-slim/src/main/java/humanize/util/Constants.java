@@ -1,6 +1,7 @@
 package humanize.util;
 
 import humanize.spi.context.DefaultContext;
+import humanize.time.DurationStyle;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -18,45 +19,85 @@ import com.google.common.base.Joiner;
 public final class Constants
 {
 
-    public enum TimeStyle
+    public enum TimeStyle implements DurationStyle
     {
         STANDARD
         {
-            public String format(DefaultContext ctx, boolean neg, int h, int m, int s)
+            @Override
+            public void formatTo(StringBuilder builder, List<String> suffixes, boolean neg, int h, int m, int s)
             {
 
-                return String.format("%s%d:%02d:%02d", neg ? '-' : "", h, m, s);
+                if (neg)
+                {
+                    builder.append('-');
+                }
+
+                builder.append(h).append(':');
+                appendTwoDigits(builder, m).append(':');
+                appendTwoDigits(builder, s);
 
             }
         },
         FRENCH_DECIMAL
         {
-            public String format(DefaultContext ctx, boolean neg, int h, int m, int s)
+            @Override
+            public void formatTo(StringBuilder builder, List<String> suffixes, boolean neg, int h, int m, int s)
             {
 
-                String r;
-
-                if (h == 0)
+                if (neg)
                 {
-                    r = (m == 0) ? String.format("%d%s", s, ctx.timeSuffix(2)) :
-                            (s == 0) ? String.format("%d%s", m, ctx.timeSuffix(1)) :
-                                    String.format("%d%s %d%s", m, ctx.timeSuffix(1), s, ctx.timeSuffix(2));
-                } else
+                    builder.append('-');
+                }
+
+                int start = builder.length();
+
+                appendPart(builder, start, h, suffixes.get(0));
+                appendPart(builder, start, m, suffixes.get(1));
+                appendPart(builder, start, s, suffixes.get(2));
+
+                if (builder.length() == start)
                 {
-                    r = (m == 0) ?
-                            ((s == 0) ? String.format("%d%s", h, ctx.timeSuffix(0)) :
-                                    String.format("%d%s %d%s", h, ctx.timeSuffix(0), s, ctx.timeSuffix(2))) :
-                            (s == 0) ?
-                                    String.format("%d%s %d%s", h, ctx.timeSuffix(0), m, ctx.timeSuffix(1)) :
-                                    String.format("%d%s %d%s %d%s", h, ctx.timeSuffix(0), m, ctx.timeSuffix(1), s,
-                                            ctx.timeSuffix(2));
+                    builder.append(s).append(suffixes.get(2));
                 }
 
-                return (neg ? '-' : "") + r;
             }
         };
 
-        public abstract String format(DefaultContext defaultContext, boolean neg, int h, int m, int s);
+        private static void appendPart(StringBuilder builder, int start, int value, String suffix)
+        {
+
+            if (value != 0)
+            {
+                if (builder.length() > start)
+                {
+                    builder.append(' ');
+                }
+
+                builder.append(value).append(suffix);
+            }
+
+        }
+
+        private static StringBuilder appendTwoDigits(StringBuilder builder, int value)
+        {
+
+            if (value < 10)
+            {
+                builder.append('0');
+            }
+
+            return builder.append(value);
+
+        }
+
+        public String format(DefaultContext ctx, boolean neg, int h, int m, int s)
+        {
+
+            StringBuilder builder = new StringBuilder(16);
+            formatTo(builder, ctx.getTimeSuffixes(), neg, h, m, s);
+            return builder.toString();
+
+        }
 
     }
 
@@ -106,6 +147,11 @@ public final class Constants
         // bigDecExponents.put(BigDecimal.TEN.pow(100), "googol");
     }
 
+    /** Exponents of {@link #bigDecExponents} within the long range, by log10 / 3 - 1 */
+    public static final String[] longExponents = new String[] {
+            "thousand", "million", "billion", "trillion", "quadrillion", "quintillion"
+    };
+
     public static final Map<Long, String> binPrefixes = new LinkedHashMap<Long, String>();
 
     static
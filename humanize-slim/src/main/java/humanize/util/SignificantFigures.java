@@ -0,0 +1,165 @@
+package humanize.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import com.google.common.base.Preconditions;
+import com.google.common.math.LongMath;
+
+/**
+ * <p>
+ * Significant figure rounding on primitives. Results are the same as rounding
+ * the exact value with {@link BigDecimal} in {@link RoundingMode#HALF_EVEN},
+ * as {@link humanize.Humanize#roundToSignificantFigures(Number, int)} does,
+ * but common values are scaled with a table of exact powers of ten instead.
+ * </p>
+ *
+ * <p>
+ * Values that cannot be rounded exactly with double arithmetic (ties, values
+ * too close to a tie, very large or very small magnitudes and precisions
+ * above {@value #MAX_FAST_PRECISION}) fall back to {@link BigDecimal}.
+ * </p>
+ *
+ */
+public final class SignificantFigures
+{
+
+    /** Scaled values stay below 2^53, so their fraction is exact */
+    private static final int MAX_FAST_PRECISION = 15;
+
+    /** Powers of ten that are exactly representable as doubles */
+    private static final double[] POW10 = new double[23];
+
+    static
+    {
+        POW10[0] = 1;
+
+        for (int i = 1; i < POW10.length; i++)
+        {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    /**
+     * Rounds a value to significant figures.
+     *
+     * @param value
+     *            The value to be rounded
+     * @param precision
+     *            The number of significant digits, 0 for no rounding
+     * @return The value rounded to significant figures. NaN and infinite
+     *         values are returned as they are.
+     */
+    public static double round(double value, int precision)
+    {
+
+        Preconditions.checkArgument(precision >= 0, "Digits < 0");
+
+        if (precision == 0 || value == 0 || Double.isNaN(value) || Double.isInfinite(value))
+        {
+            return value;
+        }
+
+        double abs = Math.abs(value);
+        int scale = precision - 1 - (int) Math.floor(Math.log10(abs));
+
+        if (precision > MAX_FAST_PRECISION || Math.abs(scale) >= POW10.length - 1)
+        {
+            return slowRound(value, precision);
+        }
+
+        double scaled = scale(abs, scale);
+
+        // log10 may be off by one next to powers of ten
+        if (scaled < POW10[precision - 1])
+        {
+            scaled = scale(abs, ++scale);
+        } else if (scaled >= POW10[precision])
+        {
+            scaled = scale(abs, --scale);
+        }
+
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+
+        // the scaled value is off by half an ulp at most: only trust it when
+        // that cannot move it across the midpoint
+        if (Math.abs(fraction - 0.5) <= Math.ulp(scaled))
+        {
+            return slowRound(value, precision);
+        }
+
+        double rounded = fraction < 0.5 ? floor : floor + 1;
+        double result = scale >= 0 ? rounded / POW10[scale] : rounded * POW10[-scale];
+
+        return value < 0 ? -result : result;
+
+    }
+
+    /**
+     * Rounds a value to significant figures.
+     *
+     * @param value
+     *            The value to be rounded
+     * @param precision
+     *            The number of significant digits, 0 for no rounding
+     * @return The value rounded to significant figures
+     * @throws ArithmeticException
+     *             if the rounded value does not fit in a long
+     */
+    public static long round(long value, int precision)
+    {
+
+        Preconditions.checkArgument(precision >= 0, "Digits < 0");
+
+        if (precision == 0 || value == Long.MIN_VALUE)
+        {
+            return precision == 0 ? value : BigDecimal.valueOf(value)
+                    .round(new MathContext(precision, RoundingMode.HALF_EVEN)).longValueExact();
+        }
+
+        long abs = Math.abs(value);
+        int digits = abs == 0 ? 1 : LongMath.log10(abs, RoundingMode.FLOOR) + 1;
+
+        if (digits <= precision)
+        {
+            return value;
+        }
+
+        long unit = LongMath.pow(10, digits - precision);
+        long quotient = abs / unit;
+        long remainder = abs % unit;
+        long half = unit / 2;
+
+        if (remainder > half || (remainder == half && (quotient & 1) == 1))
+        {
+            quotient++;
+        }
+
+        long result = LongMath.checkedMultiply(quotient, unit);
+
+        return value < 0 ? -result : result;
+
+    }
+
+    private static double scale(double abs, int scale)
+    {
+
+        return scale >= 0 ? abs * POW10[scale] : abs / POW10[-scale];
+
+    }
+
+    private static double slowRound(double value, int precision)
+    {
+
+        return new BigDecimal(value).round(new MathContext(precision, RoundingMode.HALF_EVEN)).doubleValue();
+
+    }
+
+    private SignificantFigures()
+    {
+
+    }
+
+}
@@ -3,6 +3,7 @@ package humanize;
 import static humanize.Humanize.binaryPrefix;
 import static humanize.Humanize.camelize;
 import static humanize.Humanize.capitalize;
+import static humanize.Humanize.dateFormat;
 import static humanize.Humanize.decamelize;
 import static humanize.Humanize.duration;
 import static humanize.Humanize.fixLength;
@@ -12,6 +13,7 @@ import static humanize.Humanize.formatDateTime;
 import static humanize.Humanize.formatDecimal;
 import static humanize.Humanize.formatPercent;
 import static humanize.Humanize.lossyEquals;
+import static humanize.Humanize.lossyMatcher;
 import static humanize.Humanize.mask;
 import static humanize.Humanize.metricPrefix;
 import static humanize.Humanize.nanoTime;
@@ -20,6 +22,7 @@ import static humanize.Humanize.naturalTime;
 import static humanize.Humanize.ordinal;
 import static humanize.Humanize.pace;
 import static humanize.Humanize.paceFormat;
+import static humanize.Humanize.pinClock;
 import static humanize.Humanize.pluralize;
 import static humanize.Humanize.pluralizeFormat;
 import static humanize.Humanize.prettyTimeFormat;
@@ -34,13 +37,20 @@ import static humanize.Humanize.titleize;
 import static humanize.Humanize.underscore;
 import static humanize.Humanize.unidecode;
 import static humanize.Humanize.unmask;
+import static humanize.Humanize.unpinClock;
 import static humanize.Humanize.wordWrap;
+import static humanize.Humanize.wordWrapper;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 import humanize.spi.MessageFormat;
+import humanize.spi.context.DefaultContext;
+import humanize.text.CollationMatcher;
+import humanize.time.DurationStyle;
 import humanize.time.Pace;
 import humanize.time.PrettyTimeFormat;
 import humanize.time.TimeMillis;
@@ -49,14 +59,20 @@ import humanize.util.Parameters.PaceParameters;
 import humanize.util.Parameters.PluralizeParams;
 import humanize.util.Parameters.SlugifyParams;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.Random;
+import java.util.TimeZone;
 
 import org.junit.Assert;
 import org.testng.annotations.AfterClass;
@@ -213,6 +229,24 @@ public class TestHumanize
         assertEquals(duration(432061), "120:01:01");
     }
 
+    @Test(threadPoolSize = 5, invocationCount = 5)
+    public void durationCustomStyleTest()
+    {
+        DurationStyle minutes = new DurationStyle()
+        {
+            @Override
+            public void formatTo(StringBuilder builder, List<String> suffixes, boolean neg, int h, int m, int s)
+            {
+                builder.append(neg ? "-" : "").append(h * 60 + m).append(suffixes.get(1));
+            }
+        };
+
+        assertEquals(duration(3661, minutes), "61m");
+        assertEquals(duration(-125, minutes, ES), "-2m");
+        assertEquals(duration(7214, TimeStyle.FRENCH_DECIMAL, ES), "2h 14s");
+        assertEquals(TimeStyle.STANDARD.format(new DefaultContext(), true, 1, 2, 3), "-1:02:03");
+    }
+
     @Test
     public void fixLengthTest()
     {
@@ -265,6 +299,27 @@ public class TestHumanize
 
         assertEquals(formatDate(date, "dd/MM/yy"), String.format("%02d/12/15", day));
         assertEquals(formatDate(date, "dd/MM/yy", ES), String.format("%02d/12/15", day));
+        assertEquals(formatDate(date, "MMMM", ES), "diciembre");
+
+    }
+
+    @Test
+    public void dateFormatPatternTest()
+    {
+
+        Date date = newTestDate(4, 6, 2001);
+
+        // same hash code, different patterns
+        assertEquals("yM".hashCode(), "z.".hashCode());
+        assertEquals(dateFormat("yM").format(date), "20017");
+        assertNotEquals(dateFormat("z.").format(date), "20017");
+        assertEquals(formatDate(date, "yM"), "20017");
+
+        // instances are owned by the caller
+        DateFormat format = dateFormat("HH:mm");
+        assertNotSame(format, dateFormat("HH:mm"));
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        assertEquals(dateFormat("HH:mm").getTimeZone(), TimeZone.getDefault());
 
     }
 
@@ -329,6 +384,22 @@ public class TestHumanize
         assertFalse(lossyEquals("abc", "cba"));
     }
 
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void lossyMatcherTest()
+    {
+        CollationMatcher matcher = lossyMatcher(Arrays.asList("abc", "Aáà-aa", "Läldàña 123", "AAAAA"));
+
+        assertEquals(matcher.indexOf("aaaaa"), 1);
+        assertEquals(matcher.matches("aaaaa"), Arrays.asList("Aáà-aa", "AAAAA"));
+        assertEquals(matcher.indexOf("cba"), -1);
+        assertTrue(matcher.contains("laldana123"));
+        assertTrue(matcher.matches("cba").isEmpty());
+
+        matcher = lossyMatcher(ES, Arrays.asList("alöâ-mrc", "Läldàña 123"));
+        assertTrue(matcher.contains("aloamrc"));
+        assertFalse(matcher.contains("laldana123"));
+    }
+
     @Test(threadPoolSize = 10, invocationCount = 10)
     public void maskFormatTest() throws ParseException
     {
@@ -393,6 +464,58 @@ public class TestHumanize
 
     }
 
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void naturalDayZoneTest()
+    {
+        TimeZone zone = TimeZone.getTimeZone("Pacific/Kiritimati");
+        Calendar cal = Calendar.getInstance(zone);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+
+        long today = cal.getTimeInMillis();
+
+        assertEquals(naturalDay(today, zone), "today");
+        assertEquals(naturalDay(today - 1, zone), "yesterday");
+        assertEquals(naturalDay(today - 1, zone, ES), "ayer");
+        assertEquals(naturalDay(today + 24 * 3600 * 1000L, zone), "tomorrow");
+        assertEquals(naturalDay(today + 48 * 3600 * 1000L - 1, zone), "tomorrow");
+
+        long later = today + 48 * 3600 * 1000L;
+        DateFormat format = DateFormat.getDateInstance(DateFormat.SHORT, Locale.ENGLISH);
+        format.setTimeZone(zone);
+
+        assertEquals(naturalDay(later, zone, Locale.ENGLISH), format.format(new Date(later)));
+
+        // the cached format keeps the default zone
+        DateFormat local = DateFormat.getDateInstance(DateFormat.SHORT, Locale.ENGLISH);
+        assertEquals(formatDate(new Date(later), Locale.ENGLISH), local.format(new Date(later)));
+    }
+
+    @Test
+    public void pinnedClockTest() throws InterruptedException
+    {
+        long now = pinClock();
+
+        try
+        {
+            assertEquals(pinClock(), now);
+            unpinClock();
+
+            Thread.sleep(5);
+            assertEquals(Humanize.clock().millis(), now);
+            assertEquals(naturalTime(new Date(now - 3 * 60 * 1000L)), "3 minutes ago");
+            assertEquals(naturalTime(new Date(now + 1), ES), naturalTime(new Date(now), new Date(now + 1), ES));
+            assertEquals(naturalDay(now, TimeZone.getDefault()), "today");
+        } finally
+        {
+            unpinClock();
+        }
+
+        assertFalse(Humanize.clock().isPinned());
+    }
+
     @Test(threadPoolSize = 10, invocationCount = 10)
     public void naturalTimePrecisionTest()
     {
@@ -458,6 +581,23 @@ public class TestHumanize
 
     }
 
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void naturalTimeMillisTest()
+    {
+        long[] deltas = { 1, 6000, 1000 * 60 * 12, 1000 * 60 * 60 * 3, 1000 * 60 * 60 * 24 * 3, 2629743830L * 3L,
+                3155792597470L * 3L, rand.nextInt(), rand.nextLong() >> 20 };
+
+        for (long delta : deltas)
+        {
+            assertEquals(naturalTime(0, delta), naturalTime(new Date(0), new Date(delta)));
+            assertEquals(naturalTime(delta, 0), naturalTime(new Date(delta), new Date(0)));
+            assertEquals(naturalTime(0, delta, ES), naturalTime(new Date(0), new Date(delta), ES));
+        }
+
+        assertEquals(naturalTime(0, 1000 * 60 * 12), "12 minutes from now");
+        assertEquals(naturalTime(1000 * 60 * 60 * 24, 0, ES), "hace 1 día");
+    }
+
     @Test(threadPoolSize = 10, invocationCount = 10)
     public void ordinalTest()
     {
@@ -481,6 +621,11 @@ public class TestHumanize
         assertEquals(ordinal(new Long(10000000)), "10000000th");
 
         assertEquals(ordinal(1, ES), "1º");
+        assertEquals(ordinal(7, ES), "7º");
+
+        StringBuilder sb = new StringBuilder("Position: ");
+        assertEquals(Humanize.ordinalTable().formatTo(112, sb).toString(), "Position: 112th");
+        assertEquals(Humanize.ordinalTable(ES).format(22), "22º");
 
     }
 
@@ -519,6 +664,16 @@ public class TestHumanize
         assertEquals(Humanize.oxford(fruits, 3, null, ES), "Oranges, Pears, Bananas y 2 más");
     }
 
+    @Test(threadPoolSize = 5, invocationCount = 5)
+    public void oxfordJoinerTest()
+    {
+        List<String> fruits = Arrays.asList("Oranges", "Pears", "Bananas", "Apples", "Carrots");
+
+        assertEquals(Humanize.oxfordJoiner().join(fruits), Humanize.oxford(fruits));
+        assertEquals(Humanize.oxfordJoiner(ES).limit(3).join(fruits), "Oranges, Pears, Bananas y 2 más");
+        assertSame(Humanize.oxfordJoiner(ES), Humanize.oxfordJoiner(ES));
+    }
+
     @Test(threadPoolSize = 5, invocationCount = 5)
     public void paceCustomFormatTest()
     {
@@ -619,6 +774,22 @@ public class TestHumanize
 
     }
 
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void pluralizeFormatCopiesTest()
+    {
+
+        MessageFormat f = pluralizeFormat("{0}", "none", "one", "{0} many");
+        f.applyPattern("changed");
+
+        MessageFormat g = pluralizeFormat("{0}", "none", "one", "{0} many");
+        assertNotEquals(f, g);
+        assertEquals(g.render(3), "3 many");
+        assertEquals(pluralize("one", "{0} many", "none", 0), "none");
+        assertEquals(pluralize(ES, 1000, PluralizeParams.begin("uno").many("{0} muchos").none("ninguno")),
+                "1.000 muchos");
+
+    }
+
     @Test(threadPoolSize = 10, invocationCount = 10)
     public void pluralizeFormatTest()
     {
@@ -697,6 +868,49 @@ public class TestHumanize
 
     }
 
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void pluralizeFormatTemplateTokensTest()
+    {
+
+        String[] templates = new String[] {
+                "one thing::{0} things",
+                "  one thing \t::\n {0} things  ",
+                "none::one::{0} many::",
+                "{0}:::none :: one::many",
+                "{0} ::::one:: many",
+                "{0}::none::one::{0} many::"
+        };
+
+        for (String template : templates)
+        {
+            String[] tokens = template.split("\\s*\\:{2}\\s*");
+            MessageFormat expected = tokens.length == 2 ? pluralizeFormat("{0}", tokens[1], tokens[0], tokens[1])
+                    : tokens.length == 3 ? pluralizeFormat("{0}", tokens)
+                            : pluralizeFormat(tokens[0], Arrays.copyOfRange(tokens, 1, tokens.length));
+            MessageFormat actual = pluralizeFormat(template);
+
+            for (int count : new int[] { 0, 1, 2 + rand.nextInt(9) })
+            {
+                assertEquals(actual.render(count), expected.render(count), template + " " + count);
+            }
+        }
+
+        assertEquals(pluralizeFormat("one thing::{0} things").render(2), "2 things");
+
+        for (String template : new String[] { "", "::", "one:: ::" })
+        {
+            try
+            {
+                pluralizeFormat(template);
+                fail("incorrect number of tokens");
+            } catch (IllegalArgumentException ex)
+            {
+
+            }
+        }
+
+    }
+
     @Test(threadPoolSize = 10, invocationCount = 10)
     public void pluralizeNoExtTest()
     {
@@ -799,6 +1013,31 @@ public class TestHumanize
         // Emoji face
         assertEquals(replaceSupplementary(new StringBuilder().appendCodePoint(0x1F60A).toString()), "\\uD83D\\uDE0A");
 
+        // Lone surrogate
+        assertEquals(replaceSupplementary("a\uD800b"), "a\\uD800b");
+
+        String normal = "A normal string";
+        assertTrue(replaceSupplementary(normal) == normal);
+
+    }
+
+    @Test
+    public void replaceSupplementaryStreamTest() throws IOException
+    {
+
+        StringBuilder sb = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+
+        for (int i = 0; i < 5000; i++)
+        {
+            sb.append("row ").append(i).append(',').appendCodePoint(0x10330).append('\n');
+            expected.append("row ").append(i).append(",\\uD800\\uDF30\n");
+        }
+
+        StringWriter out = new StringWriter();
+        Humanize.replaceSupplementary(new StringReader(sb.toString()), out);
+        assertEquals(out.toString(), expected.toString());
+
     }
 
     @Test
@@ -883,9 +1122,53 @@ public class TestHumanize
         assertEquals(spellBigNumber(1000000000, ES), "1 millardo");
         assertEquals(spellBigNumber(1550000001, ES), "1,55 millardos");
         assertEquals(spellBigNumber(-1550000001, ES), "-1,55 millardos");
+        assertEquals(spellBigNumber(1550000001L, ES), "1,55 millardos");
+        assertEquals(spellBigNumber(2.3e9, ES), "2,3 millardos");
+        assertEquals(spellBigNumber(1000, ES), "1 mil");
+        assertEquals(spellBigNumber(1000.0, ES), "1 mil");
 
     }
 
+    @Test(threadPoolSize = 5, invocationCount = 5)
+    public void spellBigNumberFastPathTest()
+    {
+        assertEquals(spellBigNumber(999), "999");
+        assertEquals(spellBigNumber(999.0), "999.0");
+        assertEquals(spellBigNumber(1000L), "1 thousand");
+        assertEquals(spellBigNumber(999999), "999.999 thousand");
+        assertEquals(spellBigNumber(1000500), "1 million");
+        assertEquals(spellBigNumber(2300.5), "2.3 thousand");
+        assertEquals(spellBigNumber(Long.MAX_VALUE), "9.223 quintillion");
+        assertEquals(spellBigNumber(Long.MIN_VALUE), "-9.223 quintillion");
+        assertEquals(spellBigNumber(BigInteger.valueOf(3000000)), "3 million");
+
+        for (Locale locale : new Locale[] { Locale.ENGLISH, ES })
+        {
+            for (int i = 0; i < 1000; i++)
+            {
+                long value = rand.nextLong() >> rand.nextInt(63);
+                assertEquals(spellBigNumber(value, locale), spellBigNumber(new BigDecimal(value), locale));
+                assertEquals(spellBigNumber((double) value, locale),
+                        spellBigNumber(new BigDecimal(Double.toString(value)), locale));
+
+                double d = (rand.nextBoolean() ? 1 : -1) * (1 + rand.nextDouble() * 9)
+                        * Math.pow(10, 3 + rand.nextInt(18));
+                double round = (1 + rand.nextInt(99)) * Math.pow(10, 3 + rand.nextInt(17)) / 10;
+                assertEquals(spellBigNumber(d, locale), spellBigNumber(new BigDecimal(Double.toString(d)), locale));
+                assertEquals(spellBigNumber(round, locale),
+                        spellBigNumber(new BigDecimal(Double.toString(round)), locale));
+                assertEquals(spellBigNumber((float) d, locale),
+                        spellBigNumber(new BigDecimal(Float.toString((float) d)), locale));
+            }
+        }
+
+        assertEquals(spellBigNumber(10000000000L, ES), "10 millardos");
+        assertEquals(spellBigNumber(1100000000000L, ES), "1,1 billones");
+        assertEquals(spellBigNumber(1.5e6, ES), "1,5 millones");
+        assertEquals(spellBigNumber(2.3e9), "2.3 billion");
+        assertEquals(spellBigNumber(BigInteger.valueOf(10000000000L), ES), "10 millardos");
+    }
+
     @Test(threadPoolSize = 10, invocationCount = 10)
     public void spellDigitTest()
     {
@@ -917,6 +1200,7 @@ public class TestHumanize
         assertEquals(times(3000, ES), "3.000 veces");
         assertEquals(times(1, ES), "una vez");
         assertEquals(times(0, ES), "nunca");
+        assertEquals(times(2), "twice");
     }
 
     @Test
@@ -971,6 +1255,9 @@ public class TestHumanize
         assertEquals(wordWrap(phrase, phrase.length() * 2), phrase);
         assertEquals(wordWrap(phrase, 0), "Lorem");
         assertEquals(wordWrap(phrase, -2), phrase);
+
+        assertEquals(wordWrapper(30).wrap(phrase), "Lorem ipsum dolorem si amet,\nlorem ipsum. Dolorem sic et\nnunc." + df);
+        assertEquals(wordWrapper(30, ES).truncate(phrase), "Lorem ipsum dolorem si amet, lorem");
     }
 
     @BeforeClass
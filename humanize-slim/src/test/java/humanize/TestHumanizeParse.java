@@ -1,5 +1,8 @@
 package humanize;
 
+import humanize.time.SmartDateParser;
+
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -23,6 +26,7 @@ public class TestHumanizeParse
         String msg = new String(decoded);
 
         Assert.assertEquals(msg, "Green over black.");
+        Assert.assertEquals(Humanize.parseBase64("R3JlZW4g\r\nb3ZlciBibGFjay4"), decoded);
     }
 
     @Test(threadPoolSize = 10, invocationCount = 10)
@@ -34,6 +38,9 @@ public class TestHumanizeParse
         Date date = Humanize.parseISODateTime("2011-09-14T15:22:01Z");
         Assert.assertEquals(date, target);
 
+        date = Humanize.parseISODateTime(" 2011-09-14T15:22:01Z\n");
+        Assert.assertEquals(date, target);
+
         date = Humanize.parseISODate("2011-09-14T15:22:01Z");
         Assert.assertEquals(date, target);
 
@@ -71,6 +78,19 @@ public class TestHumanizeParse
 
     }
 
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void smartDateParser()
+    {
+
+        Date target = newDate(2012, 1, 1, 0, 0, 0, TimeZone.getDefault());
+        SmartDateParser parser = Humanize.smartDateParser("dd/MM/yy", "yyyy/MM/dd", "dd/MM/yyyy");
+
+        Assert.assertSame(Humanize.smartDateParser("dd/MM/yy", "yyyy/MM/dd", "dd/MM/yyyy"), parser);
+        Assert.assertEquals(parser.parseAll(Arrays.asList("1.2.12", "01.02.2012", "bad", "2012.02.01")),
+                Arrays.asList(target, target, null, target));
+
+    }
+
     @AfterClass
     void after()
     {
@@ -0,0 +1,104 @@
+package humanize.spi.context;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.testng.annotations.Test;
+
+public class ScopedClockTest
+{
+
+    /** Clock that moves one millisecond forward on every reading */
+    private static final class TickingClock implements Clock
+    {
+
+        private long millis;
+
+        @Override
+        public long millis()
+        {
+            return millis++;
+        }
+
+    }
+
+    @Test
+    public void pinTest()
+    {
+        ScopedClock clock = new ScopedClock(new TickingClock());
+
+        assertFalse(clock.isPinned());
+        assertEquals(clock.millis(), 0);
+        assertEquals(clock.millis(), 1);
+
+        assertEquals(clock.pin(), 2);
+        assertTrue(clock.isPinned());
+        assertEquals(clock.millis(), 2);
+        assertEquals(clock.millis(), 2);
+
+        // nested pins keep the outermost timestamp
+        assertEquals(clock.pin(), 2);
+        clock.unpin();
+        assertTrue(clock.isPinned());
+        assertEquals(clock.millis(), 2);
+
+        clock.unpin();
+        assertFalse(clock.isPinned());
+        assertEquals(clock.millis(), 3);
+    }
+
+    @Test(threadPoolSize = 5, invocationCount = 5)
+    public void perThreadTest() throws InterruptedException
+    {
+        final ScopedClock clock = new ScopedClock(new SystemClock());
+        final AtomicBoolean pinnedElsewhere = new AtomicBoolean(true);
+        long pinned = clock.pin();
+
+        // assertion errors in the other thread would be lost
+        Thread other = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                pinnedElsewhere.set(clock.isPinned());
+            }
+        };
+        other.start();
+        other.join();
+
+        assertFalse(pinnedElsewhere.get());
+
+        Thread.sleep(5);
+        assertEquals(clock.millis(), pinned);
+        clock.unpin();
+    }
+
+    @Test
+    public void readingLeavesNoPinTest() throws Exception
+    {
+        ScopedClock clock = new ScopedClock(new TickingClock());
+        Field pins = ScopedClock.class.getDeclaredField("pins");
+        pins.setAccessible(true);
+        ThreadLocal<?> local = (ThreadLocal<?>) pins.get(clock);
+
+        clock.millis();
+        assertFalse(clock.isPinned());
+        assertNull(local.get());
+
+        clock.pin();
+        clock.unpin();
+        assertNull(local.get());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void unpinWithoutPinTest()
+    {
+        new ScopedClock(new SystemClock()).unpin();
+    }
+
+}
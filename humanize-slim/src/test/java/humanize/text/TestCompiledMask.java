@@ -0,0 +1,74 @@
+package humanize.text;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+
+import org.testng.annotations.Test;
+
+public class TestCompiledMask
+{
+
+    @Test
+    public void cacheTest()
+    {
+        assertSame(CompiledMask.compile("__-__"), CompiledMask.compile("__-__"));
+        assertSame(CompiledMask.compile("$$-$$", '$'), CompiledMask.compile("$$-$$", '$'));
+        assertEquals(CompiledMask.compile("$$-$$", '$').getPlaceholder(), '$');
+        assertEquals(CompiledMask.compile("__-__").getMask(), "__-__");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void danglingEscapeTest()
+    {
+        new CompiledMask("__\\");
+    }
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void formatTest()
+    {
+        CompiledMask mask = CompiledMask.compile("_# __ _____#-_");
+
+        assertEquals(mask.format("A/5881850 1"), "A 58 81850-1");
+        assertEquals(CompiledMask.compile("____ ____ __").format("1234567890"), "1234 5678 90");
+        assertEquals(CompiledMask.compile("____#/__#/__").format("2008-11-28"), "2008/11/28");
+        assertEquals(CompiledMask.compile("__\\___").format("1010"), "10_10");
+        assertEquals(CompiledMask.compile("$$_$$", '$').format("1010"), "10_10");
+        assertEquals(CompiledMask.compile("1bla_bla__bla bla bla 12").format("010"), "1bla0bla10bla bla bla 12");
+        assertEquals(CompiledMask.compile("helo").format("123"), "helo");
+        assertEquals(CompiledMask.compile("").format("hi"), "hi");
+        assertNull(CompiledMask.compile("__").format(null));
+
+        // shorter messages keep the rest of the mask, longer ones are cut
+        assertEquals(CompiledMask.compile("__-__").format("12"), "12-__");
+        assertEquals(CompiledMask.compile("__-__").format("123456"), "12-34");
+    }
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void parseTest() throws ParseException
+    {
+        assertEquals(CompiledMask.compile("____ ____ __").parse("1234 5678 90"), "1234567890");
+        assertEquals(CompiledMask.compile("____-__-__").parse("2008-11-28"), "20081128");
+        assertEquals(CompiledMask.compile("__\\___").parse("10_10"), "1010");
+        assertEquals(CompiledMask.compile("$$_$$", '$').parse("10_10"), "1010");
+        assertEquals(CompiledMask.compile("").parse("hi"), "hi");
+
+        try
+        {
+            CompiledMask.compile("helo").parse("123");
+            fail();
+        } catch (ParseException ex)
+        {
+            assertEquals(ex.getErrorOffset(), 0);
+        }
+
+        ParsePosition pos = new ParsePosition(0);
+        assertNull(CompiledMask.compile("__-__").parse("12/34", pos));
+        assertEquals(pos.getErrorIndex(), 2);
+    }
+
+}
@@ -0,0 +1,117 @@
+package humanize.text;
+
+import static humanize.text.util.InterpolationHelper.interpolate;
+import static humanize.text.util.InterpolationHelper.interpolateLiteral;
+import static humanize.text.util.InterpolationHelper.replaceSupplementary;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+import humanize.text.util.Replacer;
+
+import java.util.regex.Pattern;
+
+import org.testng.annotations.Test;
+
+public class TestInterpolationHelper
+{
+
+    private static final Pattern VAR = Pattern.compile("\\{(\\w+)\\}");
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void interpolateTest()
+    {
+        assertEquals(interpolate("Hi {name}!", VAR, constant("Bob")), "Hi Bob!");
+        assertEquals(interpolate("{a}{b}", VAR, constant("x")), "xx");
+        assertEquals(interpolate("{a}", VAR, constant("")), "{a}");
+        assertEquals(interpolateLiteral("{a}{b}", VAR, constant(null)), "{a}{b}");
+        assertEquals(interpolate("Hi {a}", VAR, constant(null)), "Hi ");
+        assertEquals(interpolate("Hi {name}!", VAR, constant("<$1>")), "Hi <name>!");
+        assertEquals(interpolate("Hi {name}!", VAR, constant("\\$1 \\\\")), "Hi $1 \\!");
+        assertEquals(interpolate("Hi {name}!", VAR, constant("$0")), "Hi {name}!");
+        assertEquals(interpolate("Hi {name}!", VAR, constant("$10")), "Hi name0!");
+
+        String text = "Nothing to see here";
+        assertSame(interpolate(text, VAR, constant("x")), text);
+    }
+
+    @Test
+    public void replaceSupplementaryTest()
+    {
+        String emoji = new String(Character.toChars(0x1F600));
+
+        assertEquals(replaceSupplementary("a" + emoji, constant("")), "a");
+        assertEquals(replaceSupplementary(emoji, constant("")), emoji);
+    }
+
+    @Test
+    public void interpolateNamedGroupTest()
+    {
+        Pattern named = Pattern.compile("\\{(?<var>\\w+)\\}");
+
+        assertEquals(interpolate("Hi {name}!", named, constant("<${var}>")), "Hi <name>!");
+        assertEquals(interpolate("Hi {name}!", named, constant("${var}$1\\${var}")),
+                named.matcher("Hi {name}!").replaceAll("${var}$1\\${var}"));
+
+        for (String invalid : new String[] { "${}", "${var", "${1var}", "${other}" })
+        {
+            try
+            {
+                interpolate("Hi {name}!", named, constant(invalid));
+                fail(invalid);
+            } catch (IllegalArgumentException e)
+            {
+                // same as Matcher.appendReplacement
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void interpolateMissingGroupTest()
+    {
+        interpolate("Hi {name}!", VAR, constant("$2"));
+    }
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void interpolateLiteralTest()
+    {
+        assertEquals(interpolateLiteral("Total: {price}", VAR, constant("$1.50")), "Total: $1.50");
+        assertEquals(interpolateLiteral("Path: {dir}", VAR, constant("C:\\temp")), "Path: C:\\temp");
+    }
+
+    @Test
+    public void nestedInterpolationTest()
+    {
+        final Replacer inner = new Replacer()
+        {
+            @Override
+            public String replace(String in)
+            {
+                return in.toUpperCase();
+            }
+        };
+
+        Replacer outer = new Replacer()
+        {
+            @Override
+            public String replace(String in)
+            {
+                return interpolateLiteral("[{" + in + "}]", VAR, inner);
+            }
+        };
+
+        assertEquals(interpolateLiteral("a {b} c {d}", VAR, outer), "a [B] c [D]");
+    }
+
+    private Replacer constant(final String value)
+    {
+        return new Replacer()
+        {
+            @Override
+            public String replace(String in)
+            {
+                return value;
+            }
+        };
+    }
+
+}
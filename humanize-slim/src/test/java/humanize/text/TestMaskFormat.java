@@ -5,6 +5,14 @@ import humanize.spi.MessageFormat;
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -12,6 +20,93 @@ import org.testng.annotations.Test;
 public class TestMaskFormat
 {
 
+    @Test
+    public void bulkTest()
+    {
+
+        MaskFormat mf = new MaskFormat("____ ____ __");
+        final List<String> results = new ArrayList<String>();
+        final List<Integer> errors = new ArrayList<Integer>();
+
+        MaskCallback callback = new MaskCallback()
+        {
+            @Override
+            public void onError(int index, CharSequence source, int errorIndex)
+            {
+                errors.add(index);
+                errors.add(errorIndex);
+            }
+
+            @Override
+            public void onResult(int index, CharSequence source, CharSequence result)
+            {
+                results.add(result == null ? null : result.toString());
+            }
+        };
+
+        mf.formatAll(Arrays.asList("1234567890", "", null, "12345"), callback);
+        Assert.assertEquals(results, Arrays.asList("1234 5678 90", "", null, "1234 5___ __"));
+        Assert.assertTrue(errors.isEmpty());
+
+        results.clear();
+        int failed = mf.parseAll(Arrays.asList("1234 5678 90", "1234-5678 90", "1234 5"), callback);
+        Assert.assertEquals(failed, 1);
+        Assert.assertEquals(results, Arrays.asList("1234567890", "12345"));
+        Assert.assertEquals(errors, Arrays.asList(1, 4));
+
+    }
+
+    @Test
+    public void bulkParallelTest() throws InterruptedException
+    {
+
+        int size = 10000;
+        List<String> sources = new ArrayList<String>(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            String digits = String.format("%06d", i);
+            sources.add(i % 7 == 0 ? digits : MaskFormat.format("___-___", digits));
+        }
+
+        final Map<Integer, String> results = new ConcurrentHashMap<Integer, String>();
+        final AtomicInteger errors = new AtomicInteger();
+
+        MaskCallback callback = new MaskCallback()
+        {
+            @Override
+            public void onError(int index, CharSequence source, int errorIndex)
+            {
+                Assert.assertEquals(index % 7, 0);
+                Assert.assertEquals(errorIndex, 3);
+                errors.incrementAndGet();
+            }
+
+            @Override
+            public void onResult(int index, CharSequence source, CharSequence result)
+            {
+                results.put(index, result.toString());
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try
+        {
+            int failed = new MaskFormat("___-___").parseAll(sources, callback, executor);
+
+            Assert.assertEquals(failed, (size + 6) / 7);
+            Assert.assertEquals(errors.get(), failed);
+            Assert.assertEquals(results.size(), size - failed);
+            Assert.assertEquals(results.get(1234), "001234");
+            Assert.assertEquals(results.get(9999), "009999");
+        } finally
+        {
+            executor.shutdown();
+        }
+
+    }
+
     @Test
     public void instanceTest() throws ParseException
     {
@@ -0,0 +1,69 @@
+package humanize.text;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+public class TestOrdinalTable
+{
+
+    private static final OrdinalTable EN = new OrdinalTable("th", "st", "nd", "rd", "th", "th", "th", "th", "th",
+            "th");
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void formatTest()
+    {
+        for (long i = -1000; i <= 1000; i++)
+        {
+            String expected = i + suffix(i);
+            assertEquals(EN.format(i), expected);
+            assertEquals(EN.formatTo(i, new StringBuilder()).toString(), expected);
+        }
+
+        assertEquals(EN.format(Long.MAX_VALUE), Long.MAX_VALUE + "th");
+        assertEquals(EN.format(Long.MIN_VALUE), Long.MIN_VALUE + "th");
+        assertEquals(EN.format(Integer.MIN_VALUE), Integer.MIN_VALUE + "th");
+        assertEquals(EN.format(-111), "-111th");
+        assertEquals(EN.format(-21), "-21st");
+    }
+
+    @Test
+    public void shortTableTest()
+    {
+        OrdinalTable table = new OrdinalTable("º", "ª");
+
+        assertEquals(table.format(1), "1ª");
+        assertEquals(table.format(7), "7º");
+        assertEquals(table.format(11), "11º");
+        assertEquals(table.suffix(21), "ª");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void emptyTableTest()
+    {
+        new OrdinalTable();
+    }
+
+    private static String suffix(long value)
+    {
+        long last = Math.abs(value % 100);
+
+        if (last > 10 && last < 14)
+        {
+            return "th";
+        }
+
+        switch ((int) (last % 10))
+        {
+            case 1:
+                return "st";
+            case 2:
+                return "nd";
+            case 3:
+                return "rd";
+            default:
+                return "th";
+        }
+    }
+
+}
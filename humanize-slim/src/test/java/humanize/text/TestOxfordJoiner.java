@@ -0,0 +1,120 @@
+package humanize.text;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Range;
+
+public class TestOxfordJoiner
+{
+
+    private static final OxfordJoiner EN = new OxfordJoiner(Locale.ENGLISH, "{0}, and {1}", "{0} and {1}",
+            "{0,number} others");
+
+    private static final List<String> FRUITS = Arrays.asList("Oranges", "Pears", "Bananas", "Apples", "Carrots");
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void joinTest()
+    {
+        assertEquals(EN.join(FRUITS), "Oranges, Pears, Bananas, Apples, and Carrots");
+        assertEquals(EN.join(FRUITS.subList(0, 3)), "Oranges, Pears, and Bananas");
+        assertEquals(EN.join(FRUITS.subList(0, 2)), "Oranges and Pears");
+        assertEquals(EN.join(FRUITS.subList(0, 1)), "Oranges");
+        assertEquals(EN.join(FRUITS.subList(0, 0)), "");
+        assertEquals(EN.join((Iterable<?>) null), "");
+        assertEquals(EN.join(Arrays.asList("a", null, "b", "c")), "a, b, and c");
+
+        // pairs of non-text items are formatted as before
+        assertEquals(EN.join(Arrays.asList(1000, 2000)), "1,000 and 2,000");
+    }
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void limitTest()
+    {
+        assertEquals(EN.limit(3).join(FRUITS), "Oranges, Pears, Bananas, and 2 others");
+        assertEquals(EN.limit(4).join(FRUITS), "Oranges, Pears, Bananas, Apples, and Carrots");
+        assertEquals(EN.limit(1, "{0,number} more").join(FRUITS), "Oranges, and 4 more");
+        assertEquals(EN.limit(2).join(Iterables.concat(FRUITS, FRUITS)), "Oranges, Pears, and 8 others");
+        assertSame(EN.limit(-1), EN);
+
+        assertEquals(EN.limit(2).join(ContiguousSet.create(Range.closed(1, 2000), DiscreteDomain.integers())),
+                "1, 2, and 1,998 others");
+    }
+
+    @Test
+    public void limitStopsIteratingTest()
+    {
+        final Iterator<String> items = Iterables.cycle(FRUITS).iterator();
+
+        AbstractCollection<String> endless = new AbstractCollection<String>()
+        {
+            private int served;
+
+            @Override
+            public Iterator<String> iterator()
+            {
+                return new Iterator<String>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return true;
+                    }
+
+                    @Override
+                    public String next()
+                    {
+                        if (++served > 4)
+                        {
+                            throw new IllegalStateException("iterated past the limit");
+                        }
+
+                        return items.next();
+                    }
+
+                    @Override
+                    public void remove()
+                    {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return 1000000;
+            }
+        };
+
+        assertEquals(EN.limit(2).join(endless), "Oranges, Pears, and 999,998 others");
+    }
+
+    @Test
+    public void patternsTest() throws IOException
+    {
+        OxfordJoiner reversed = new OxfordJoiner(Locale.ENGLISH, "{1} after {0}", "{0} ''n'' {1}", "[{0}]");
+
+        assertEquals(reversed.join(FRUITS.subList(0, 3)), "Bananas after Oranges, Pears");
+        assertEquals(reversed.join(FRUITS.subList(0, 2)), "Oranges 'n' Pears");
+        assertEquals(reversed.limit(1).join(FRUITS), "[4] after Oranges");
+
+        StringWriter writer = new StringWriter();
+        assertSame(EN.appendTo(writer, FRUITS.subList(0, 3)), writer);
+        assertEquals(writer.toString(), "Oranges, Pears, and Bananas");
+    }
+
+}
@@ -0,0 +1,62 @@
+package humanize.text;
+
+import static org.testng.Assert.assertEquals;
+import humanize.Humanize;
+import humanize.util.Parameters.PluralizeParams;
+
+import java.util.Locale;
+
+import org.testng.annotations.Test;
+
+public class TestPluralizer
+{
+
+    private static final Locale ES = new Locale("es", "ES");
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void formatTest()
+    {
+        PluralizeParams params = PluralizeParams
+                .begin("There is one file on {1}.")
+                .many("There are {0} files on {1}.")
+                .none("There are no files on {1}.")
+                .exts("disk");
+
+        Pluralizer files = new Pluralizer(params, Locale.ENGLISH);
+
+        assertEquals(files.format(0), "There are no files on disk.");
+        assertEquals(files.format(1), "There is one file on disk.");
+        assertEquals(files.format(1000), "There are 1,000 files on disk.");
+        assertEquals(files.format(2, "tape"), "There are 2 files on tape.");
+
+        // later changes to the parameters are not visible
+        params.exts("tape");
+        assertEquals(files.format(2), "There are 2 files on disk.");
+
+        Pluralizer ficheros = Humanize.pluralizer(PluralizeParams.begin("un fichero").many("{0} ficheros"), ES);
+        assertEquals(ficheros.format(1000), "1.000 ficheros");
+        assertEquals(ficheros.format(0), "0 ficheros");
+        assertEquals(ficheros.getLocale(), ES);
+    }
+
+    @Test
+    public void matchesPluralizeTest()
+    {
+        PluralizeParams params = PluralizeParams.begin("one {1}").many("{0} {1}s").none("no {1}s").exts("thing");
+        Pluralizer pluralizer = Humanize.pluralizer(params);
+
+        Number[] counts = new Number[] { -1, 0, 0.5, 1, 1.5, 2, 2.5, 1000000L, Double.NaN, Double.NEGATIVE_INFINITY };
+
+        for (Number count : counts)
+        {
+            assertEquals(pluralizer.format(count), Humanize.pluralize(count, params), String.valueOf(count));
+        }
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void requiresManyTest()
+    {
+        new Pluralizer(PluralizeParams.begin("one"), Locale.ENGLISH);
+    }
+
+}
@@ -0,0 +1,95 @@
+package humanize.text;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.text.BreakIterator;
+import java.util.Locale;
+
+import org.testng.annotations.Test;
+
+import com.google.common.base.Strings;
+
+public class TestWordWrapper
+{
+
+    private static final String PHRASE = "Lorem ipsum dolorem si amet, lorem ipsum. Dolorem sic et nunc.";
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void truncateTest() throws IOException
+    {
+        WordWrapper ww = new WordWrapper(30, Locale.ENGLISH);
+
+        assertEquals(ww.truncate(PHRASE), "Lorem ipsum dolorem si amet, lorem");
+        assertEquals(new WordWrapper(2, Locale.ENGLISH).truncate(PHRASE), "Lorem");
+        assertEquals(new WordWrapper(0, Locale.ENGLISH).truncate(PHRASE), "Lorem");
+        assertEquals(new WordWrapper(PHRASE.length(), Locale.ENGLISH).truncate(PHRASE), PHRASE);
+        assertEquals(new WordWrapper(PHRASE.length() * 2, Locale.ENGLISH).truncate(PHRASE), PHRASE);
+
+        StringWriter out = new StringWriter();
+        ww.truncate(new StringReader(PHRASE), out);
+        assertEquals(out.toString(), "Lorem ipsum dolorem si amet, lorem");
+
+        out = new StringWriter();
+        ww.truncate(new StringReader("Lorem"), out);
+        assertEquals(out.toString(), "Lorem");
+
+        String longWord = "Lorem " + Strings.repeat("x", 10000) + " ipsum";
+        out = new StringWriter();
+        new WordWrapper(8, Locale.ENGLISH).truncate(new StringReader(longWord), out);
+        assertEquals(out.toString(), new WordWrapper(8, Locale.ENGLISH).truncate(longWord));
+        assertEquals(out.toString().length(), 10006);
+    }
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void wrapTest()
+    {
+        WordWrapper ww = new WordWrapper(10, Locale.ENGLISH);
+
+        assertEquals(ww.wrap("Lorem ipsum dolorem si amet"), "Lorem\nipsum\ndolorem si\namet");
+        assertEquals(ww.wrap("Lorem  ipsum\n\ndolorem  "), "Lorem\nipsum\n\ndolorem");
+        assertEquals(ww.wrap("Lorem\r\nipsum"), "Lorem\nipsum");
+        assertEquals(ww.wrap("  indented"), "  indented");
+        assertEquals(ww.wrap("incomprehensibilities"), "incomprehensibilities");
+        assertEquals(ww.wrap(""), "");
+
+        WordWrapper crlf = new WordWrapper(30, BreakIterator.getWordInstance(Locale.ENGLISH), "\r\n");
+        assertEquals(crlf.wrap(PHRASE), "Lorem ipsum dolorem si amet,\r\nlorem ipsum. Dolorem sic et\r\nnunc.");
+    }
+
+    @Test
+    public void wrapPunctuationTest()
+    {
+        WordWrapper ww = new WordWrapper(4, Locale.ENGLISH);
+
+        assertEquals(ww.wrap("amet, x"), "amet,\nx");
+        assertEquals(ww.wrap("amet. Lorem"), "amet.\nLorem");
+        assertEquals(ww.wrap("si amet."), "si\namet.");
+        assertEquals(ww.wrap("ab c, d"), "ab\nc, d");
+        assertEquals(ww.wrap("U.S.A. x"), "U.S.A.\nx");
+    }
+
+    @Test
+    public void wrapStreamTest() throws IOException
+    {
+        String word = "lorem ";
+        String text = Strings.repeat(word, 10000);
+
+        StringWriter out = new StringWriter();
+        new WordWrapper(17, Locale.ENGLISH).wrap(new StringReader(text), out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(lines.length, 10000 / 3 + 1);
+
+        for (String line : lines)
+        {
+            assertTrue(line.length() <= 17, line);
+        }
+
+        assertEquals(out.toString().replace('\n', ' ').trim(), text.trim());
+    }
+
+}
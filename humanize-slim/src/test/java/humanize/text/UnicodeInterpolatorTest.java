@@ -1,11 +1,16 @@
 package humanize.text;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 import humanize.text.util.Replacer;
 import humanize.text.util.UnicodeInterpolator;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.Range;
+
 public class UnicodeInterpolatorTest
 {
 
@@ -17,6 +22,31 @@ public class UnicodeInterpolatorTest
         assertEquals(interpol.escape("♦♦ Alakazam 123 ♦♦"), "xx Alakazam 123 xx");
     }
 
+    @Test
+    public void rangesTest()
+    {
+        UnicodeInterpolator interpol = new UnicodeInterpolator(createTestReplacer());
+        interpol.addRange(0x1f000, 0x1ffff);
+        interpol.addRange(Range.closedOpen(0x61, 0x63));
+        interpol.addRange(0x20a0, 0x32ff);
+        interpol.addRange(0x3000, 0x3400);
+
+        assertTrue(interpol.contains('a'));
+        assertTrue(interpol.contains('b'));
+        assertFalse(interpol.contains('c'));
+        assertTrue(interpol.contains(0x3400));
+        assertFalse(interpol.contains(0x3401));
+        assertTrue(interpol.contains(0x1f60a));
+        assertFalse(interpol.contains(0x10330));
+
+        String text = new StringBuilder("abc ").appendCodePoint(0x1f60a).append(" ").appendCodePoint(0x10330)
+                .append(" ♦").toString();
+        assertEquals(interpol.escape(text), "xxc x " + new String(Character.toChars(0x10330)) + " x");
+
+        String untouched = "Nothing to replace here";
+        assertSame(new UnicodeInterpolator(createTestReplacer()).escape(untouched), untouched);
+    }
+
     private Replacer createTestReplacer()
     {
         return new Replacer()
@@ -0,0 +1,189 @@
+package humanize.time;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TimeZone;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.testng.annotations.Test;
+
+public class ISODateParserTest
+{
+
+    private static final TimeZone MADRID = TimeZone.getTimeZone("Europe/Madrid");
+
+    private static final String[] ZONES = { "", "", "Z", "+02:00", "-05:30", "+14:00", "-14:00", "+13:60",
+            "+00:00", "-00:00", "+14:01", "+0530", "+05", "z", "+00:99" };
+
+    private final Random rand = new Random();
+
+    @Test
+    public void dstTest()
+    {
+        assertEquals(ISODateParser.parseMillis("2011-03-27T02:30:00", 0, 19, MADRID), 1301189400000L);
+        assertEquals(ISODateParser.parseMillis("2011-10-30T02:30:00", 0, 19, MADRID), 1319938200000L);
+        assertEquals(ISODateParser.parseMillis("15:22:01.5", 0, 10, MADRID), 51721500L);
+    }
+
+    @Test(threadPoolSize = 3, invocationCount = 3)
+    public void matchesDatatypeConverterTest()
+    {
+        TimeZone defaultZone = TimeZone.getDefault();
+
+        for (int i = 0; i < 20000; i++)
+        {
+            String text = randomDate();
+
+            assertEquals(parse(text, defaultZone), legacy(text), text);
+        }
+    }
+
+    @Test
+    public void parseAllTest()
+    {
+        long[] millis = ISODateParser.parseAll(
+                Arrays.<CharSequence> asList("2011-09-14T15:22:01Z", new StringBuilder("15:22:01Z"), "2011-09-14"),
+                MADRID);
+
+        assertEquals(millis, new long[] { 1316013721000L, 55321000L, 1315951200000L });
+    }
+
+    @Test
+    public void regionTest()
+    {
+        String line = "[2011-09-14T15:22:01.123456+02:00] GET /";
+
+        assertEquals(ISODateParser.parseMillis(line, 1, 33, null), 1316006521123L);
+    }
+
+    @Test
+    public void referenceTest()
+    {
+        assertEquals(ISODateParser.parseMillis("2011-09-14T15:22:01Z"), 1316013721000L);
+        assertEquals(ISODateParser.parseMillis("15:22:01Z"), 55321000L);
+        assertEquals(ISODateParser.parseMillis("-0001-01-01T00:00:00Z"), -62167219200000L);
+        assertEquals(ISODateParser.parseMillis("2011-09-14T24:00:00Z"), 1316044800000L);
+        assertEquals(ISODateParser.parseMillis("2011-09-14T15:22:60.9999Z"), 1316013780999L);
+        assertEquals(ISODateParser.parseMillis("24:00:00.5Z"), 500L);
+        assertEquals(ISODateParser.parseMillis("2011-02-31T24:00:00Z"), 1298937600000L);
+        assertEquals(ISODateParser.parseMillis("-0004-02-29Z"), -62256729600000L);
+        assertEquals(ISODateParser.parseDate("---14Z").getTime(), 13 * 86400000L);
+    }
+
+    @Test
+    public void invalidTest()
+    {
+        String[] invalid = { "", "Z", "2011-9-14", "01-01-01", "+2011", "0000", "2011-02-29", "2100-02-29",
+                "--02-30", "2011-09-14T24:00:01", "2011-09-14T15:60:00", "2011-09-14T15:22", "15:22:01.",
+                "2011-09-14t15:22:01", "2011-09-14T15:22:01+14:01", "2011-09-14 ", "2011-09-14T", "2011-13",
+                "---32", "--00", "2011-09-14T15:22:01Zx" };
+
+        for (String text : invalid)
+        {
+            try
+            {
+                ISODateParser.parseMillis(text);
+                fail(text);
+            } catch (IllegalArgumentException e)
+            {
+                // expected
+            }
+        }
+    }
+
+    private static Long legacy(String text)
+    {
+        try
+        {
+            return DatatypeConverter.parseDateTime(text).getTimeInMillis();
+        } catch (IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    private static Long parse(String text, TimeZone zone)
+    {
+        try
+        {
+            return ISODateParser.parseMillis(text, 0, text.length(), zone);
+        } catch (IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    private String randomDate()
+    {
+        StringBuilder sb = new StringBuilder();
+        int year = rand.nextInt(10) == 0 ? rand.nextInt(100000) : 1900 + rand.nextInt(250);
+        String zone = ZONES[rand.nextInt(ZONES.length)];
+
+        switch (rand.nextInt(7))
+        {
+        case 0:
+            sb.append("--").append(twoDigits(rand.nextInt(14)));
+            break;
+        case 1:
+            sb.append("--").append(twoDigits(rand.nextInt(14))).append('-').append(twoDigits(rand.nextInt(33)));
+            break;
+        case 2:
+            sb.append("---").append(twoDigits(rand.nextInt(33)));
+            break;
+        case 3:
+            sb.append(time());
+            break;
+        default:
+            sb.append(rand.nextBoolean() ? "-" : "").append(String.format("%04d", year));
+
+            if (rand.nextInt(5) > 0)
+            {
+                sb.append('-').append(twoDigits(rand.nextInt(14)));
+
+                if (rand.nextInt(4) > 0)
+                {
+                    sb.append('-').append(twoDigits(rand.nextInt(32)));
+
+                    if (rand.nextBoolean())
+                    {
+                        sb.append('T').append(time());
+                    }
+                }
+            }
+        }
+
+        return sb.append(zone).toString();
+    }
+
+    private String time()
+    {
+        StringBuilder sb = new StringBuilder();
+        boolean midnight = rand.nextInt(20) == 0;
+
+        sb.append(midnight ? "24" : twoDigits(rand.nextInt(25))).append(':')
+                .append(midnight ? "00" : twoDigits(rand.nextInt(61))).append(':')
+                .append(midnight ? "00" : twoDigits(rand.nextInt(61)));
+
+        if (rand.nextBoolean())
+        {
+            sb.append('.');
+
+            for (int i = rand.nextInt(6); i > 0; i--)
+            {
+                sb.append(rand.nextInt(10));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static String twoDigits(int value)
+    {
+        return String.format("%02d", value);
+    }
+
+}
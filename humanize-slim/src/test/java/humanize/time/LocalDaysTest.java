@@ -0,0 +1,158 @@
+package humanize.time;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.testng.annotations.Test;
+
+public class LocalDaysTest
+{
+
+    private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void dayOfTest()
+    {
+        Random rand = new Random();
+
+        for (String id : new String[] { "UTC", "America/New_York", "Europe/Madrid", "Australia/Lord_Howe",
+                "Pacific/Apia", "America/Sao_Paulo" })
+        {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            LocalDays days = LocalDays.of(zone);
+
+            for (int i = 0; i < 2000; i++)
+            {
+                long millis = (rand.nextLong() % (200L * 365 * 24 * 3600 * 1000));
+                assertEquals(days.dayOf(millis), expectedDay(zone, millis), id + " " + millis);
+            }
+        }
+    }
+
+    @Test
+    public void dstTest()
+    {
+        LocalDays days = new LocalDays(NEW_YORK);
+
+        // spring forward: 2015-03-08 has 23 hours
+        long saturdayEvening = at(NEW_YORK, 2015, Calendar.MARCH, 7, 23, 30);
+        long sundayNight = at(NEW_YORK, 2015, Calendar.MARCH, 8, 23, 30);
+        long mondayMorning = at(NEW_YORK, 2015, Calendar.MARCH, 9, 0, 10);
+
+        assertEquals(days.between(saturdayEvening, sundayNight), 1);
+        assertEquals(days.between(sundayNight, mondayMorning), 1);
+        assertEquals(days.fromToday(mondayMorning, sundayNight), 1);
+        assertEquals(days.fromToday(saturdayEvening, sundayNight), -1);
+
+        // fall back: 2015-11-01 has 25 hours
+        long start = at(NEW_YORK, 2015, Calendar.NOVEMBER, 1, 0, 0);
+        long end = at(NEW_YORK, 2015, Calendar.NOVEMBER, 1, 23, 59);
+
+        assertEquals(end - start, 25 * 3600 * 1000L - 60 * 1000L);
+        assertEquals(days.between(start, end), 0);
+        assertEquals(days.fromToday(end, start), 0);
+        assertEquals(days.fromToday(end + 60 * 1000L, start), 1);
+    }
+
+    @Test
+    public void midnightTest()
+    {
+        LocalDays days = new LocalDays(NEW_YORK);
+        long beforeMidnight = at(NEW_YORK, 2014, Calendar.JUNE, 10, 23, 59);
+
+        // a few minutes apart, but on different days
+        assertEquals(days.fromToday(beforeMidnight + 2 * 60 * 1000L, beforeMidnight), 1);
+        assertEquals(days.fromToday(beforeMidnight - 23 * 3600 * 1000L, beforeMidnight), 0);
+        assertEquals(days.fromToday(beforeMidnight, beforeMidnight + 2 * 60 * 1000L), -1);
+    }
+
+    @Test
+    public void sharedTest()
+    {
+        assertSame(LocalDays.of(NEW_YORK), LocalDays.of(TimeZone.getTimeZone("America/New_York")));
+        assertEquals(LocalDays.of(NEW_YORK).getTimeZone(), NEW_YORK);
+    }
+
+    @Test
+    public void customZoneTest()
+    {
+        final TimeZone delegate = TimeZone.getTimeZone("Europe/Madrid");
+        long now = at(delegate, 2011, Calendar.OCTOBER, 30, 12, 0);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            // no value equality, so every call misses the shared instances
+            TimeZone custom = new TimeZone()
+            {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public int getOffset(int era, int year, int month, int day, int dayOfWeek, int milliseconds)
+                {
+                    return delegate.getOffset(era, year, month, day, dayOfWeek, milliseconds);
+                }
+
+                @Override
+                public int getOffset(long date)
+                {
+                    return delegate.getOffset(date);
+                }
+
+                @Override
+                public int getRawOffset()
+                {
+                    return delegate.getRawOffset();
+                }
+
+                @Override
+                public boolean inDaylightTime(Date date)
+                {
+                    return delegate.inDaylightTime(date);
+                }
+
+                @Override
+                public void setRawOffset(int offsetMillis)
+                {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public boolean useDaylightTime()
+                {
+                    return delegate.useDaylightTime();
+                }
+            };
+
+            assertEquals(LocalDays.of(custom).fromToday(now, now), 0);
+        }
+
+        assertTrue(LocalDays.sharedCount() <= 256);
+    }
+
+    private static long at(TimeZone zone, int year, int month, int day, int hour, int minute)
+    {
+        Calendar cal = Calendar.getInstance(zone);
+        cal.clear();
+        cal.set(year, month, day, hour, minute);
+        return cal.getTimeInMillis();
+    }
+
+    private static long expectedDay(TimeZone zone, long millis)
+    {
+        Calendar cal = Calendar.getInstance(zone);
+        cal.setTimeInMillis(millis);
+
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        utc.clear();
+        utc.set(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH), cal.get(Calendar.DAY_OF_MONTH));
+
+        return Math.round(utc.getTimeInMillis() / (24 * 3600 * 1000.0));
+    }
+
+}
@@ -2,11 +2,30 @@ package humanize.time;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
+import humanize.Humanize;
+
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.ocpsoft.prettytime.Duration;
+import org.ocpsoft.prettytime.PrettyTime;
+import org.ocpsoft.prettytime.TimeFormat;
+import org.ocpsoft.prettytime.TimeUnit;
+import org.ocpsoft.prettytime.units.Millisecond;
+import org.ocpsoft.prettytime.units.Minute;
 import org.testng.annotations.Test;
 
 public class PrettyTimeFormatTest
@@ -24,4 +43,323 @@ public class PrettyTimeFormatTest
         Duration duration = DurationHelper.calculateDuration(new Date(0), new Date(10000), fmt.getUnits());
         assertEquals(fmt.format(duration), "moments from now");
     }
+
+    @Test
+    public void unitTableTest()
+    {
+        PrettyTimeFormat fmt = new PrettyTimeFormat(Locale.ENGLISH);
+        TimeUnitTable table = fmt.getUnitTable();
+        Random rand = new Random();
+
+        assertEquals(table.size(), fmt.getUnits().size());
+        assertSame(fmt.getUnitTable(), table);
+
+        for (int i = 0; i < 10000; i++)
+        {
+            long delta = rand.nextLong() >> rand.nextInt(64);
+            Duration expected = DurationHelper.calculateDuration(delta, fmt.getUnits());
+            Duration actual = table.duration(delta);
+
+            assertEquals(actual.getUnit(), expected.getUnit());
+            assertEquals(actual.getQuantity(), expected.getQuantity());
+            assertEquals(actual.getDelta(), expected.getDelta());
+            assertEquals(table.format(delta), fmt.format(expected));
+            assertEquals(fmt.format(delta, 0), fmt.format(new Date(delta), new Date(0)));
+        }
+    }
+
+    @Test
+    public void unitTableRebuildTest()
+    {
+        PrettyTimeFormat fmt = new PrettyTimeFormat(Locale.ENGLISH);
+        TimeUnitTable table = fmt.getUnitTable();
+
+        removeMilliseconds(fmt);
+
+        assertNotSame(fmt.getUnitTable(), table);
+        assertEquals(fmt.getUnitTable().size(), table.size() - 1);
+        assertEquals(fmt.format(0, 1), fmt.format(new Date(0), new Date(1)));
+    }
+
+    @Test
+    public void pinnedClockTest() throws InterruptedException
+    {
+        PrettyTimeFormat fmt = new PrettyTimeFormat(Locale.ENGLISH);
+        long now = Humanize.pinClock();
+
+        try
+        {
+            // the system clock moves past 'then', the pinned one does not
+            Thread.sleep(5);
+            Date then = new Date(now + 1);
+
+            assertEquals(fmt.format(then), "moments from now");
+            assertEquals(fmt.format(Long.valueOf(now + 1)), "moments from now");
+            assertEquals(fmt.formatUnrounded(then), "moments from now");
+            assertEquals(fmt.format(null, then, 0), fmt.format(new Date(now), then, 0));
+            assertEquals(fmt.approximateDuration(then).getQuantity(), 1);
+            assertEquals(fmt.calculatePreciseDuration(then).get(0).getQuantity(), 1);
+            assertEquals(DurationHelper.calculatePreciseDuration(null, then, fmt.getUnits()).get(0).getQuantity(), 1);
+        } finally
+        {
+            Humanize.unpinClock();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void prettyTimeCopyTest()
+    {
+        PrettyTimeFormat fmt = new PrettyTimeFormat(Locale.ENGLISH);
+        TimeUnitTable table = fmt.getUnitTable();
+        PrettyTime copy = fmt.getPrettyTime();
+
+        assertEquals(copy.getUnits(), fmt.getUnits());
+        assertEquals(copy.format(new Date(System.currentTimeMillis() - 3 * 3600000L)), "3 hours ago");
+
+        try
+        {
+            copy.removeUnit(Millisecond.class);
+            fail("removeUnit");
+        } catch (UnsupportedOperationException e)
+        {
+            // expected
+        }
+
+        try
+        {
+            copy.setLocale(Locale.GERMAN);
+            fail("setLocale");
+        } catch (UnsupportedOperationException e)
+        {
+            // expected
+        }
+
+        try
+        {
+            copy.clearUnits();
+            fail("clearUnits");
+        } catch (UnsupportedOperationException e)
+        {
+            // expected
+        }
+
+        assertSame(fmt.getUnitTable(), table);
+        assertSame(fmt.registerUnit(table.unit(0), table.timeFormat(0)).registerUnit(table.unit(1),
+                table.timeFormat(1)), fmt);
+        assertEquals(fmt.getUnits().size(), table.size());
+        assertEquals(fmt.format(0, 1), "moments from now");
+    }
+
+    @Test
+    public void preciseTest()
+    {
+        long[] precisions = { 0, 1, 1000, 60000, 3600000, TimeMillis.DAY.millis(), TimeMillis.WEEK.millis(),
+                Long.MAX_VALUE };
+
+        for (Locale locale : new Locale[] { Locale.ENGLISH, new Locale("es"), new Locale("ru") })
+        {
+            PrettyTimeFormat fmt = new PrettyTimeFormat(locale);
+            Random rand = new Random();
+
+            for (int i = 0; i < 5000; i++)
+            {
+                long delta = rand.nextLong() >> (8 + rand.nextInt(56));
+                long precision = precisions[rand.nextInt(precisions.length)];
+
+                List<Duration> retained = new ArrayList<Duration>();
+
+                for (Duration duration : DurationHelper.calculatePreciseDuration(new Date(0), new Date(delta),
+                        fmt.getUnits()))
+                {
+                    if (duration.getUnit().getMillisPerUnit() >= precision)
+                    {
+                        retained.add(duration);
+                    }
+                }
+
+                String expected = retained.isEmpty() ? "" : fmt.format(retained);
+
+                assertEquals(fmt.format(new Date(0), new Date(delta), precision), expected);
+                assertEquals(fmt.format(1000, 1000 + delta, precision), expected);
+            }
+        }
+    }
+
+    @Test
+    public void decomposeTest()
+    {
+        PrettyTimeFormat fmt = new PrettyTimeFormat(Locale.ENGLISH);
+        TimeUnitTable table = fmt.getUnitTable();
+        DurationBuffer buffer = new DurationBuffer();
+        long delta = 1000 * 60 * 60 * 24 * 3 + 1000 * 60 * 60 * 15 + 1000 * 60 * 38 + 1000 * 2;
+
+        List<Duration> durations = DurationHelper.calculatePreciseDuration(new Date(0), new Date(delta),
+                fmt.getUnits());
+
+        assertSame(table.decompose(delta, 0, buffer), buffer);
+        assertEquals(buffer.size(), durations.size());
+
+        for (int i = 0; i < buffer.size(); i++)
+        {
+            assertEquals(table.unit(buffer.unitIndex(i)), durations.get(i).getUnit());
+            assertEquals(buffer.quantity(i), durations.get(i).getQuantity());
+            assertEquals(buffer.delta(i), durations.get(i).getDelta());
+        }
+
+        table.decompose(delta, TimeMillis.HOUR.millis(), buffer);
+
+        assertEquals(buffer.size(), 2);
+        assertEquals(buffer.quantity(0), 3);
+        assertEquals(buffer.quantity(1), 15);
+        assertEquals(fmt.format(0, delta, TimeMillis.HOUR.millis()), "3 days 16 hours from now");
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void bufferBoundsTest()
+    {
+        new DurationBuffer().quantity(0);
+    }
+
+    @Test
+    public void builderTest()
+    {
+        TimeUnitTable table = TimeUnitTable.of(Locale.ENGLISH);
+        TimeUnitTable custom = table.toBuilder().register(minuteOf(table), new FixedTimeFormat("custom")).build();
+        long delta = 1000 * 60 * 12;
+
+        assertEquals(table.format(delta), "12 minutes from now");
+        assertEquals(custom.format(delta), "custom");
+        assertEquals(custom.size(), table.size());
+
+        TimeUnitTable withoutMinutes = custom.toBuilder().remove(Minute.class).build();
+
+        assertEquals(withoutMinutes.size(), table.size() - 1);
+        assertEquals(custom.format(delta), "custom");
+        assertEquals(TimeUnitTable.builder().register(minuteOf(table), new FixedTimeFormat("only")).build()
+                .format(Long.MAX_VALUE), "only");
+    }
+
+    @Test
+    public void concurrentUnitsTest() throws Exception
+    {
+        final PrettyTimeFormat fmt = new PrettyTimeFormat(Locale.ENGLISH);
+        final TimeUnit minute = minuteOf(fmt.getUnitTable());
+        final TimeFormat original = fmt.getFormat(minute);
+        final TimeFormat custom = new FixedTimeFormat("custom");
+        final long delta = 1000 * 60 * 12;
+        final AtomicBoolean done = new AtomicBoolean();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> readers = new ArrayList<Future<Integer>>();
+
+        try
+        {
+            for (int i = 0; i < 7; i++)
+            {
+                readers.add(executor.submit(new Callable<Integer>()
+                {
+                    public Integer call()
+                    {
+                        int count = 0;
+
+                        while (!done.get() || count < 1000)
+                        {
+                            String text = (count % 2 == 0) ? fmt.format(0, delta) : fmt.format(new Date(0),
+                                    new Date(delta), 0);
+
+                            assertTrue(text.equals("12 minutes from now") || text.equals("custom"), text);
+                            assertNotNull(fmt.format(new Date(delta)));
+                            count++;
+                        }
+
+                        return count;
+                    }
+                }));
+            }
+
+            for (int i = 0; i < 500; i++)
+            {
+                fmt.registerUnit(minute, i % 2 == 0 ? custom : original);
+            }
+
+            done.set(true);
+
+            for (Future<Integer> reader : readers)
+            {
+                assertTrue(reader.get() >= 1000);
+            }
+        } finally
+        {
+            executor.shutdown();
+        }
+
+        assertEquals(fmt.format(0, delta), "12 minutes from now");
+        assertEquals(fmt.getUnits().size(), fmt.getUnitTable().size());
+
+        fmt.clearUnits();
+
+        assertTrue(fmt.getUnits().isEmpty());
+    }
+
+    private static void removeMilliseconds(PrettyTimeFormat fmt)
+    {
+        TimeUnitTable table = fmt.getUnitTable();
+
+        fmt.clearUnits();
+
+        for (int i = 0; i < table.size(); i++)
+        {
+            if (!(table.unit(i) instanceof Millisecond))
+            {
+                fmt.registerUnit(table.unit(i), table.timeFormat(i));
+            }
+        }
+    }
+
+    private static TimeUnit minuteOf(TimeUnitTable table)
+    {
+        for (int i = 0; i < table.size(); i++)
+        {
+            if (table.unit(i) instanceof Minute)
+            {
+                return table.unit(i);
+            }
+        }
+
+        throw new AssertionError("No minutes");
+    }
+
+    private static final class FixedTimeFormat implements TimeFormat
+    {
+
+        private final String text;
+
+        FixedTimeFormat(String text)
+        {
+            this.text = text;
+        }
+
+        public String decorate(Duration duration, String time)
+        {
+            return time;
+        }
+
+        public String decorateUnrounded(Duration duration, String time)
+        {
+            return time;
+        }
+
+        public String format(Duration duration)
+        {
+            return text;
+        }
+
+        public String formatUnrounded(Duration duration)
+        {
+            return text;
+        }
+
+    }
+
 }
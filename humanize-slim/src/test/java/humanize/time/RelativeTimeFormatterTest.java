@@ -0,0 +1,101 @@
+package humanize.time;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+
+import org.ocpsoft.prettytime.units.Millisecond;
+import org.testng.annotations.Test;
+
+public class RelativeTimeFormatterTest
+{
+
+    private static final Locale[] LOCALES = { Locale.ENGLISH, new Locale("es"), new Locale("cs"), new Locale("ru"),
+            new Locale("fi"), Locale.JAPANESE };
+
+    private final Random rand = new Random();
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void matchesPrettyTimeTest()
+    {
+        for (Locale locale : LOCALES)
+        {
+            PrettyTimeFormat fmt = new PrettyTimeFormat(locale);
+            RelativeTimeFormatter formatter = new RelativeTimeFormatter(fmt);
+
+            for (int i = 0; i < 5000; i++)
+            {
+                long delta = rand.nextLong() >> rand.nextInt(64);
+                String expected = fmt.format(new Date(0), new Date(delta));
+
+                assertEquals(formatter.format(delta), expected, locale + " " + delta);
+                assertEquals(formatter.format(delta), expected, locale + " " + delta);
+                assertEquals(formatter.format(1000, 1000 + delta), expected, locale + " " + delta);
+            }
+        }
+    }
+
+    @Test
+    public void bucketsTest()
+    {
+        RelativeTimeFormatter formatter = new RelativeTimeFormatter(new PrettyTimeFormat(Locale.ENGLISH));
+        long minute = 60 * 1000;
+
+        for (long t = 0; t < 30000; t++)
+        {
+            assertEquals(formatter.format(-5 * minute - t), "5 minutes ago");
+        }
+
+        // one bucket per whole percent of a minute
+        assertEquals(formatter.size(), 51);
+        assertEquals(formatter.format(-2 * minute - 40 * 1000), "3 minutes ago");
+        assertEquals(formatter.format(0, 12 * minute), "12 minutes from now");
+        assertEquals(formatter.getLocale(), Locale.ENGLISH);
+    }
+
+    @Test
+    public void maxSizeTest()
+    {
+        RelativeTimeFormatter formatter = new RelativeTimeFormatter(new PrettyTimeFormat(Locale.ENGLISH), 10);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            formatter.format(-i * 60L * 1000L);
+        }
+
+        assertTrue(formatter.size() <= 10);
+    }
+
+    @Test
+    public void unitChangeTest()
+    {
+        PrettyTimeFormat fmt = new PrettyTimeFormat(Locale.ENGLISH);
+        RelativeTimeFormatter formatter = new RelativeTimeFormatter(fmt);
+
+        assertEquals(formatter.format(1), "moments from now");
+
+        removeMilliseconds(fmt);
+
+        assertEquals(formatter.size(), 0);
+        assertEquals(formatter.format(1), fmt.format(new Date(0), new Date(1)));
+    }
+
+    private static void removeMilliseconds(PrettyTimeFormat fmt)
+    {
+        TimeUnitTable table = fmt.getUnitTable();
+
+        fmt.clearUnits();
+
+        for (int i = 0; i < table.size(); i++)
+        {
+            if (!(table.unit(i) instanceof Millisecond))
+            {
+                fmt.registerUnit(table.unit(i), table.timeFormat(i));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package humanize.time;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+public class SharedDateFormatTest
+{
+
+    private static final SharedDateFormat SHARED = new SharedDateFormat("yyyy-MM-dd HH:mm:ss.SSS EEEE",
+            Locale.ENGLISH);
+
+    private final Random rand = new Random();
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void concurrentTest() throws ParseException
+    {
+        SimpleDateFormat expected = new SimpleDateFormat(SHARED.getPattern(), SHARED.getLocale());
+
+        for (int i = 0; i < 2000; i++)
+        {
+            Date date = new Date(rand.nextLong() >>> 23);
+            String text = SHARED.format(date);
+
+            assertEquals(text, expected.format(date));
+            assertEquals(SHARED.parse(text), date);
+        }
+    }
+
+    @Test
+    public void newInstanceTest()
+    {
+        DateFormat first = SHARED.newInstance();
+        DateFormat second = SHARED.newInstance();
+
+        assertNotSame(first, second);
+        assertEquals(first.format(new Date(0)), second.format(new Date(0)));
+    }
+
+    @Test(expectedExceptions = ParseException.class)
+    public void parseErrorTest() throws ParseException
+    {
+        SHARED.parse("not a date");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidPatternTest()
+    {
+        new SharedDateFormat("yyyy-MM-dd bb", Locale.ENGLISH);
+    }
+
+}
@@ -0,0 +1,134 @@
+package humanize.time;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+public class SmartDateParserTest
+{
+
+    private static final String[][] FORMATS = { { "dd/MM/yy", "yyyy/MM/dd", "dd/MM/yyyy" },
+            { "MM/dd/yyyy", "dd/MM/yyyy", "yyyy/MM/dd HH/mm" }, { "yyyyMMdd", "d/M/yy", "'T'dd/MM" },
+            { "HH/mm/ss", "dd/MM/yyyy/hh/mm", "D/yyyy" } };
+
+    private static final String SEPARATORS = "/.-_ :,$x";
+
+    private final Random rand = new Random();
+
+    @Test(threadPoolSize = 5, invocationCount = 5)
+    public void matchesLegacyTest()
+    {
+        for (String[] formats : FORMATS)
+        {
+            SmartDateParser parser = SmartDateParser.of(Locale.ENGLISH, formats);
+            SmartDateParser dollar = new SmartDateParser(Locale.ENGLISH, "\\$+", formats);
+
+            for (int i = 0; i < 3000; i++)
+            {
+                String text = randomDate();
+
+                assertEquals(parser.parseOrNull(text), legacy(text, SmartDateParser.DEFAULT_SEPARATOR, formats),
+                        text + " " + Arrays.toString(formats));
+                assertEquals(dollar.parseOrNull(text), legacy(text, "\\$+", formats),
+                        text + " " + Arrays.toString(formats));
+            }
+        }
+    }
+
+    @Test
+    public void parseAllTest()
+    {
+        SmartDateParser parser = SmartDateParser.of(Locale.ENGLISH, "dd/MM/yy", "yyyy/MM/dd");
+        Date target = legacy("01/02/2012", "/", "dd/MM/yyyy");
+
+        List<Date> dates = parser.parseAll(Arrays.asList("1.2.12", null, "2012-02-01", "n/a", "", "31.13.12"));
+
+        assertEquals(dates, Arrays.asList(target, null, target, null, null, null));
+    }
+
+    @Test
+    public void textFieldsTest()
+    {
+        SmartDateParser parser = new SmartDateParser(Locale.ENGLISH, "\\s*,\\s*", new String[] { "dd/MMM/yyyy",
+                "MMMM/d/yyyy" });
+        Date target = legacy("01/02/2012", "/", "dd/MM/yyyy");
+
+        assertEquals(parser.parse("01, Feb, 2012"), target);
+        assertEquals(parser.parse("February,1 , 2012"), target);
+        assertEquals(parser.getLocale(), Locale.ENGLISH);
+        assertEquals(parser.getSeparator(), "\\s*,\\s*");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void unparseableTest()
+    {
+        SmartDateParser.of(Locale.ENGLISH, "dd/MM/yyyy").parse("2012/13/45");
+    }
+
+    private static Date legacy(String dateStr, String separator, String... formats)
+    {
+        String tmp = dateStr.replaceAll(separator, "/");
+
+        for (String fmt : formats)
+        {
+            try
+            {
+                DateFormat df = new SimpleDateFormat(fmt, Locale.ENGLISH);
+                df.setLenient(false);
+                return df.parse(tmp);
+            } catch (ParseException ignored)
+            {
+                //
+            }
+        }
+
+        return null;
+    }
+
+    private String randomDate()
+    {
+        StringBuilder sb = new StringBuilder();
+        int groups = rand.nextInt(6);
+
+        for (int i = 0; i < groups; i++)
+        {
+            if (i > 0 || rand.nextInt(8) == 0)
+            {
+                int separators = 1 + rand.nextInt(2);
+
+                for (int j = 0; j < separators; j++)
+                {
+                    sb.append(SEPARATORS.charAt(rand.nextInt(SEPARATORS.length())));
+                }
+            }
+
+            switch (rand.nextInt(4))
+            {
+            case 0:
+                sb.append(1900 + rand.nextInt(200));
+                break;
+            case 1:
+                sb.append(String.format("%02d", rand.nextInt(40)));
+                break;
+            case 2:
+                sb.append(rand.nextInt(70));
+                break;
+            default:
+                sb.append(rand.nextInt(100000000));
+            }
+        }
+
+        return sb.toString();
+    }
+
+}
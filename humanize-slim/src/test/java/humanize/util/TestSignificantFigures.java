@@ -0,0 +1,146 @@
+package humanize.util;
+
+import static org.testng.Assert.assertEquals;
+import humanize.Humanize;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+public class TestSignificantFigures
+{
+
+    private final Random rand = new Random(42);
+
+    @Test
+    public void doubleTest()
+    {
+        assertEquals(SignificantFigures.round(8.14301, 4), 8.143);
+        assertEquals(SignificantFigures.round(1203.0, 3), 1200.0);
+        assertEquals(SignificantFigures.round(9.99, 1), 10.0);
+        assertEquals(SignificantFigures.round(-8.14091, 4), -8.141);
+        assertEquals(SignificantFigures.round(0.0, 3), 0.0);
+        assertEquals(SignificantFigures.round(814.0, 0), 814.0);
+        assertEquals(SignificantFigures.round(814.0, 1), 800.0);
+        assertEquals(SignificantFigures.round(0.000123456, 2), 0.00012);
+        assertEquals(SignificantFigures.round(Double.NaN, 2), Double.NaN);
+        assertEquals(SignificantFigures.round(Double.NEGATIVE_INFINITY, 2), Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    public void doubleTiesTest()
+    {
+        assertEquals(SignificantFigures.round(2.5, 1), 2.0);
+        assertEquals(SignificantFigures.round(3.5, 1), 4.0);
+        assertEquals(SignificantFigures.round(-0.125, 2), -0.12);
+        assertEquals(SignificantFigures.round(1250.0, 2), 1200.0);
+        assertEquals(SignificantFigures.round(1350.0, 2), 1400.0);
+
+        // 0.15 is slightly below its decimal value as a double
+        assertEquals(SignificantFigures.round(0.15, 1), 0.1);
+        assertEquals(SignificantFigures.round(0.35, 1), 0.3);
+    }
+
+    @Test(threadPoolSize = 10, invocationCount = 10)
+    public void doubleMatchesBigDecimalTest()
+    {
+        for (int i = 0; i < 20000; i++)
+        {
+            int precision = rand.nextInt(18);
+            double value = randomDouble();
+
+            assertEquals(SignificantFigures.round(value, precision), expected(value, precision), 0.0, value + " @ "
+                    + precision);
+        }
+
+        for (int i = 0; i < 2000; i++)
+        {
+            int precision = 1 + rand.nextInt(17);
+            double value = Double.longBitsToDouble(rand.nextLong());
+
+            if (!Double.isNaN(value) && !Double.isInfinite(value))
+            {
+                assertEquals(SignificantFigures.round(value, precision), expected(value, precision), 0.0, value
+                        + " @ " + precision);
+            }
+        }
+    }
+
+    @Test
+    public void humanizeTest()
+    {
+        for (int i = 0; i < 2000; i++)
+        {
+            int precision = rand.nextInt(10);
+            double value = randomDouble();
+
+            assertEquals(SignificantFigures.round(value, precision),
+                    Humanize.roundToSignificantFigures(value, precision).doubleValue(), 0.0);
+        }
+    }
+
+    @Test
+    public void longTest()
+    {
+        assertEquals(SignificantFigures.round(1203L, 3), 1200L);
+        assertEquals(SignificantFigures.round(1250L, 2), 1200L);
+        assertEquals(SignificantFigures.round(1350L, 2), 1400L);
+        assertEquals(SignificantFigures.round(-9999L, 2), -10000L);
+        assertEquals(SignificantFigures.round(814L, 5), 814L);
+        assertEquals(SignificantFigures.round(814L, 0), 814L);
+        assertEquals(SignificantFigures.round(0L, 1), 0L);
+        assertEquals(SignificantFigures.round(Long.MIN_VALUE, 3), -9220000000000000000L);
+        assertEquals(SignificantFigures.round(Long.MAX_VALUE, 1), 9000000000000000000L);
+
+        for (int i = 0; i < 20000; i++)
+        {
+            int precision = rand.nextInt(20);
+            long value = rand.nextLong() >> rand.nextInt(64);
+
+            assertEquals(SignificantFigures.round(value, precision), BigDecimal.valueOf(value)
+                    .round(new MathContext(precision, RoundingMode.HALF_EVEN)).longValueExact(), value + " @ "
+                    + precision);
+        }
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void longOverflowTest()
+    {
+        SignificantFigures.round(Long.MAX_VALUE, 9);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativePrecisionTest()
+    {
+        SignificantFigures.round(1.5, -1);
+    }
+
+    private double expected(double value, int precision)
+    {
+        return new BigDecimal(value).round(new MathContext(precision, RoundingMode.HALF_EVEN)).doubleValue();
+    }
+
+    private double randomDouble()
+    {
+        double value;
+
+        switch (rand.nextInt(3))
+        {
+        case 0:
+            // short decimals, including exact ties
+            value = (rand.nextInt(20000) - 10000) / (double) (1 << rand.nextInt(8));
+            break;
+        case 1:
+            value = (rand.nextInt(2000000) - 1000000) / Math.pow(10, rand.nextInt(12));
+            break;
+        default:
+            value = (rand.nextDouble() - 0.5) * Math.pow(10, rand.nextInt(60) - 30);
+        }
+
+        return value;
+    }
+
+}
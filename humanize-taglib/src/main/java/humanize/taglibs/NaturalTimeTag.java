@@ -6,6 +6,7 @@ import java.util.Date;
 import java.util.Locale;
 
 import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.PageContext;
 
 import org.apache.taglibs.standard.tag.common.fmt.HumanizeSupport;
 
@@ -14,13 +15,41 @@ public class NaturalTimeTag extends HumanizeSupport
 
     private static final long serialVersionUID = -6504638950550719198L;
 
+    /** Request attribute holding the time all the tags of a request are relative to */
+    private static final String NOW = NaturalTimeTag.class.getName() + ".now";
+
     private Date from;
     private Date to;
 
+    /**
+     * Gets the reference date. Without an explicit reference, every tag of
+     * the same request is relative to the same reading of
+     * {@link Humanize#clock()}.
+     * 
+     * @return the reference date
+     */
     public Date getDefaultedFrom()
     {
 
-        return from == null ? new Date() : from;
+        if (from != null)
+        {
+            return from;
+        }
+
+        if (pageContext == null)
+        {
+            return new Date(Humanize.clock().millis());
+        }
+
+        Date now = (Date) pageContext.getAttribute(NOW, PageContext.REQUEST_SCOPE);
+
+        if (now == null)
+        {
+            now = new Date(Humanize.clock().millis());
+            pageContext.setAttribute(NOW, now, PageContext.REQUEST_SCOPE);
+        }
+
+        return now;
 
     }
 